@@ -10,6 +10,7 @@ import com.reportnami.claro.data.api.model.ProductDto
 import com.reportnami.claro.data.api.model.RegisterRequestDto
 import com.reportnami.claro.data.api.model.ReviewDto
 import com.reportnami.claro.data.api.model.ReviewSummaryResponseDto
+import com.reportnami.claro.data.api.model.SyncResponseDto
 import com.reportnami.claro.data.api.model.TranslateRequestDto
 import com.reportnami.claro.data.api.model.TranslateResponseDto
 import com.reportnami.claro.data.api.model.UpdateReviewRequestDto
@@ -86,6 +87,7 @@ interface ApiService {
         @Query("sortBy") sortBy: String = "createdAt",
         @Query("sortDir") sortDir: String = "DESC",
         @Query("minRating") minRating: Int? = null,
+        @Query("deviceId") deviceId: String? = null,
     ): PageResponse<ReviewDto>
 
     @POST("/api/reviews")
@@ -111,6 +113,12 @@ interface ApiService {
         @Query("deviceId") deviceId: String,
     ): HelpfulVoteResponseDto
 
+    @GET("/api/sync")
+    suspend fun sync(
+        @Query("since") since: String? = null,
+        @Query("limit") limit: Int = 500,
+    ): SyncResponseDto
+
     @POST("/api/translate")
     suspend fun translate(
         @Body body: TranslateRequestDto,
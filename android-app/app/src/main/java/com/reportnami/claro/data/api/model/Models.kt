@@ -34,6 +34,7 @@ data class ReviewDto(
     val deviceId: String?,
     val helpfulCount: Long?,
     val createdAt: String?,
+    val helpfulByMe: Boolean? = null,
 )
 
 data class CreateReviewRequestDto(
@@ -79,6 +80,17 @@ data class ReviewSummaryResponseDto(
     val cons: List<String>?,
     val topTopics: List<String>?,
     val generatedAt: String?,
+    val stale: Boolean? = null,
+)
+
+data class SyncResponseDto(
+    val nextToken: String,
+    val hasMore: Boolean = false,
+    val fullResync: Boolean = false,
+    val products: List<ProductDto> = emptyList(),
+    val reviews: List<ReviewDto> = emptyList(),
+    val deletedProductIds: List<Long> = emptyList(),
+    val deletedReviewIds: List<Long> = emptyList(),
 )
 
 data class PageResponse<T>(
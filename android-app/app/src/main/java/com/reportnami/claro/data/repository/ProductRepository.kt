@@ -5,6 +5,7 @@ import com.reportnami.claro.data.api.model.PageResponse
 import com.reportnami.claro.data.api.model.ProductDetailDto
 import com.reportnami.claro.data.api.model.ProductDto
 import com.reportnami.claro.data.api.model.ReviewSummaryResponseDto
+import com.reportnami.claro.data.api.model.SyncResponseDto
 import com.reportnami.claro.data.api.model.TranslateRequestDto
 import javax.inject.Inject
 
@@ -43,6 +44,10 @@ class ProductRepository @Inject constructor(
         return apiService.getReviewSummary(productId = productId, limit = limit, lang = lang)
     }
 
+    suspend fun sync(since: String?, limit: Int = 500): SyncResponseDto {
+        return apiService.sync(since = since, limit = limit)
+    }
+
     suspend fun translateBatch(lang: String, texts: List<String>): List<String> {
         if (texts.isEmpty()) return emptyList()
         return apiService.translate(
@@ -17,6 +17,7 @@ class ReviewRepository @Inject constructor(
         sortBy: String,
         sortDir: String,
         minRating: Int?,
+        deviceId: String? = null,
     ): PageResponse<ReviewDto> {
         return apiService.getReviewsByProductId(
             productId = productId,
@@ -25,6 +26,7 @@ class ReviewRepository @Inject constructor(
             sortBy = sortBy,
             sortDir = sortDir,
             minRating = minRating,
+            deviceId = deviceId,
         )
     }
 
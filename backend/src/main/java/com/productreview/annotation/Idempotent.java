@@ -0,0 +1,19 @@
+package com.productreview.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Honours the {@code Idempotency-Key} request header on a controller method returning
+ * {@code ResponseEntity}: a replay with the same key gets the first response back instead of
+ * running the method again.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Idempotent {
+
+    /** Namespace for keys, so the same key on two endpoints never collides. */
+    String value();
+}
@@ -0,0 +1,15 @@
+package com.productreview.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs the annotated transactional method when a concurrent writer bumped the
+ * {@code @Version} of an entity it touched. The retry wraps the whole transaction.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnOptimisticLock {
+}
@@ -0,0 +1,106 @@
+package com.productreview.aspect;
+
+import com.productreview.annotation.Idempotent;
+import com.productreview.service.IdempotencyStore;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class IdempotencyAspect {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long IN_FLIGHT_WAIT_SECONDS = 30;
+
+    private final IdempotencyStore idempotencyStore;
+
+    @Around("@annotation(idempotent)")
+    public Object applyIdempotencyKey(ProceedingJoinPoint joinPoint, Idempotent idempotent) throws Throwable {
+        String key = currentIdempotencyKey();
+        if (key == null) {
+            return joinPoint.proceed();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            return ResponseEntity.badRequest().body("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        // Keys are per caller: another user's key must never replay someone else's response.
+        String scopedKey = idempotent.value() + "|" + callerName() + "|" + key;
+        String fingerprint = Arrays.deepToString(joinPoint.getArgs());
+
+        // A waiter whose leader failed takes over once instead of surfacing the leader's error.
+        for (int attempt = 0; ; attempt++) {
+            IdempotencyStore.Entry entry = idempotencyStore.begin(scopedKey, fingerprint);
+            if (entry.isOwner()) {
+                return execute(joinPoint, scopedKey, entry);
+            }
+            if (!entry.fingerprint().equals(fingerprint)) {
+                return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                        .body("Idempotency-Key was already used with a different request");
+            }
+            try {
+                return replay(entry.response().get(IN_FLIGHT_WAIT_SECONDS, TimeUnit.SECONDS));
+            } catch (TimeoutException e) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body("A request with this Idempotency-Key is still being processed");
+            } catch (ExecutionException e) {
+                if (attempt > 0) throw e.getCause();
+            }
+        }
+    }
+
+    private Object execute(ProceedingJoinPoint joinPoint, String scopedKey, IdempotencyStore.Entry entry) throws Throwable {
+        try {
+            Object result = joinPoint.proceed();
+            entry.response().complete((ResponseEntity<?>) result);
+            return result;
+        } catch (Throwable t) {
+            idempotencyStore.abandon(scopedKey, entry);
+            entry.response().completeExceptionally(t instanceof CompletionException ? t.getCause() : t);
+            throw t;
+        }
+    }
+
+    private ResponseEntity<?> replay(ResponseEntity<?> original) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(original.getHeaders());
+        headers.set(REPLAYED_HEADER, "true");
+        return new ResponseEntity<>(original.getBody(), headers, original.getStatusCode());
+    }
+
+    private String currentIdempotencyKey() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return null;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (key == null || key.trim().isEmpty()) return null;
+        return key.trim();
+    }
+
+    private String callerName() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth == null ? "anonymous" : auth.getName();
+    }
+}
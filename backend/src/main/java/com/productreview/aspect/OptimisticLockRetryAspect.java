@@ -0,0 +1,93 @@
+package com.productreview.aspect;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Ordered ahead of the transaction interceptor so each attempt runs in a fresh
+ * transaction and re-reads the rows another writer has just committed.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 100)
+public class OptimisticLockRetryAspect {
+
+    private static final Logger log = LoggerFactory.getLogger(OptimisticLockRetryAspect.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+
+    public OptimisticLockRetryAspect(
+            MeterRegistry meterRegistry,
+            @Value("${app.retry.optimistic-lock.max-attempts:5}") int maxAttempts,
+            @Value("${app.retry.optimistic-lock.initial-backoff-ms:10}") long initialBackoffMs,
+            @Value("${app.retry.optimistic-lock.max-backoff-ms:200}") long maxBackoffMs
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMs = Math.max(1L, initialBackoffMs);
+        this.maxBackoffMs = Math.max(this.initialBackoffMs, maxBackoffMs);
+    }
+
+    @Around("@annotation(com.productreview.annotation.RetryOnOptimisticLock)")
+    public Object retryOnConflict(ProceedingJoinPoint joinPoint) throws Throwable {
+        // Retrying inside an outer transaction would only replay against the same stale snapshot.
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        String operation = joinPoint.getSignature().getName();
+        int attempt = 1;
+        while (true) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException e) {
+                counter("reviews.optimistic_lock.conflicts", operation).increment();
+                if (attempt >= maxAttempts) {
+                    counter("reviews.optimistic_lock.exhausted", operation).increment();
+                    log.warn("Giving up on {} after {} optimistic lock conflicts", operation, attempt);
+                    throw e;
+                }
+                counter("reviews.optimistic_lock.retries", operation).increment();
+                sleep(backoff(attempt));
+                attempt++;
+            }
+        }
+    }
+
+    private long backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        // Full jitter keeps colliding writers from retrying in lock-step.
+        return ThreadLocalRandom.current().nextLong(initialBackoffMs, ceiling + 1);
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying optimistic lock conflict", e);
+        }
+    }
+
+    private Counter counter(String name, String operation) {
+        return Counter.builder(name)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
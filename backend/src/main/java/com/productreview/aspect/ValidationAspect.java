@@ -1,34 +1,28 @@
 package com.productreview.aspect;
 
 import com.productreview.dto.CreateReviewDTO;
-import com.productreview.entity.Product;
-import com.productreview.exception.NotFoundException;
 import com.productreview.exception.ValidationException;
-import com.productreview.repository.ProductRepository;
 import com.productreview.repository.ReviewRepository;
+import com.productreview.service.ReviewDuplicateFilter;
 import lombok.RequiredArgsConstructor;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
-
 @Aspect
 @Component
 @RequiredArgsConstructor
 public class ValidationAspect {
     
-    private final ProductRepository productRepository;
     private final ReviewRepository reviewRepository;
+    private final ReviewDuplicateFilter reviewDuplicateFilter;
     
     @Before("@annotation(com.productreview.annotation.ValidateCreateReview)")
     public void validateCreateReview(JoinPoint joinPoint) {
         CreateReviewDTO dto = (CreateReviewDTO) joinPoint.getArgs()[0];
         
-        // Validate product exists
-        Product product = productRepository.findById(dto.getProductId())
-                .orElseThrow(() -> new NotFoundException("Product not found with id: " + dto.getProductId()));
+        // Product existence is checked by ReviewService, which needs the entity anyway
         
         // Validate rating
         if (dto.getRating() < 1 || dto.getRating() > 5) {
@@ -49,7 +43,8 @@ public class ValidationAspect {
         
         // Business rule: Prevent duplicate review by same user for same product
         // Note: This would require user authentication context, for now using deviceId
-        if (dto.getDeviceId() != null) {
+        // The Bloom filter answers "definitely not reviewed" without a query; only maybes hit the DB
+        if (dto.getDeviceId() != null && reviewDuplicateFilter.mightContain(dto.getProductId(), dto.getDeviceId())) {
             boolean existingReview = reviewRepository.existsByProductIdAndDeviceId(dto.getProductId(), dto.getDeviceId());
             if (existingReview) {
                 throw new ValidationException("You have already reviewed this product");
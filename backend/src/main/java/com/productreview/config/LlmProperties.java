@@ -0,0 +1,49 @@
+package com.productreview.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.llm")
+public class LlmProperties {
+
+    public static final String DEFAULT_MODEL = "llama-3.3-70b-versatile";
+
+    // OpenAI-compatible chat completions endpoint; /chat/completions is appended
+    private String baseUrl = "https://api.groq.com/openai/v1";
+    // Blank disables AI generation; summaries and translations stay LOCAL
+    private String apiKey = "";
+    // Blank (e.g. GROQ_MODEL set but empty) falls back to DEFAULT_MODEL
+    private String model = DEFAULT_MODEL;
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    private Duration requestTimeout = Duration.ofSeconds(8);
+    private Stub stub = new Stub();
+
+    @Data
+    public static class Stub {
+        // Only used with the llm-stub profile
+        private int port = 18089;
+        private int handlerThreads = 4;
+        private LatencyDistribution latencyDistribution = LatencyDistribution.LOG_NORMAL;
+        private Duration latencyMin = Duration.ofMillis(50);
+        private Duration latencyMedian = Duration.ofMillis(400);
+        private Duration latencyP99 = Duration.ofMillis(2500);
+        // Fraction of requests answered with errorStatus instead of a completion
+        private double errorRate = 0.0;
+        private int errorStatus = 503;
+        // Message content returned for summary prompts; translation prompts echo their input
+        private String summaryContent = "{\"takeaway\":\"Reviewers are broadly positive about build quality and value.\","
+                + "\"pros\":[\"Solid build quality\",\"Good value for money\"],"
+                + "\"cons\":[\"Battery life could be longer\"],"
+                + "\"topTopics\":[\"Build quality\",\"Price/value\",\"Battery\"]}";
+    }
+
+    public enum LatencyDistribution {
+        // Always latencyMedian
+        FIXED,
+        // latencyMin plus a log-normal tail fitted to latencyMedian and latencyP99
+        LOG_NORMAL
+    }
+}
@@ -0,0 +1,23 @@
+package com.productreview.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.llm.resilience")
+public class LlmResilienceProperties {
+
+    // Circuit breaker: rolling window over the last N completed calls
+    private int windowSize = 20;
+    private int minimumCalls = 10;
+    private int failureRateThreshold = 50;
+    private Duration slowCallDuration = Duration.ofSeconds(4);
+    private int slowCallRateThreshold = 80;
+    private Duration openDuration = Duration.ofSeconds(30);
+    private int halfOpenProbes = 3;
+
+    // Bulkhead: concurrent in-flight LLM calls per node
+    private int maxConcurrentCalls = 8;
+}
@@ -0,0 +1,20 @@
+package com.productreview.config;
+
+import com.productreview.llm.LlmStubServer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Starts the embedded LLM stub in-process. application-llm-stub.properties points
+ * app.llm.base-url at it, so the app can be load-tested without a Groq key or network.
+ */
+@Configuration
+@Profile("llm-stub")
+public class LlmStubConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public LlmStubServer llmStubServer(LlmProperties llmProperties) {
+        return new LlmStubServer(llmProperties.getStub());
+    }
+}
@@ -0,0 +1,29 @@
+package com.productreview.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private int stripes = 16;
+    private int maxBucketsPerStripe = 4096;
+    private Duration idleTimeout = Duration.ofMinutes(10);
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    @Data
+    public static class Route {
+        private String method = "POST";
+        // Ant-style pattern, e.g. /api/reviews/*/helpful
+        private String path;
+        private long capacity = 10;
+        private long refillTokens = 10;
+        private Duration refillPeriod = Duration.ofMinutes(1);
+    }
+}
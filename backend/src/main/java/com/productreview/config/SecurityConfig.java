@@ -1,8 +1,10 @@
 package com.productreview.config;
 
+import com.productreview.ratelimit.RateLimitFilter;
 import com.productreview.repository.UserRepository;
 import com.productreview.security.JwtAuthenticationFilter;
 import com.productreview.security.JwtService;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -31,6 +33,7 @@ public class SecurityConfig {
     
     private final UserRepository userRepository;
     private final JwtService jwtService;
+    private final RateLimitFilter rateLimitFilter;
     
     @Bean
     public UserDetailsService userDetailsService() {
@@ -75,6 +78,10 @@ public class SecurityConfig {
                 .requestMatchers("/api/products/{id}/reviews").permitAll()
                 .requestMatchers("/api/reviews/product/{productId}").permitAll()
                 .requestMatchers("/api/products/{id}/review-summary").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/products/{id}/events").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/sync").permitAll()
+                // SSE streams are written from async dispatches after the original request returned
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/h2-console/**").permitAll()
                 
                 // Authenticated users
@@ -93,7 +100,8 @@ public class SecurityConfig {
             )
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authenticationProvider(authenticationProvider())
-            .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
         
         // Allow H2 console frames
         http.headers(headers -> headers.frameOptions().sameOrigin());
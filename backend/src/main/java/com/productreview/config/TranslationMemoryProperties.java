@@ -0,0 +1,21 @@
+package com.productreview.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.translation-memory")
+public class TranslationMemoryProperties {
+
+    private boolean enabled = true;
+    // Memory-mapped file holding the index and value log; kept across restarts
+    private String path = "data/translation-memory.bin";
+    // Hash index slots (rounded up to a power of two, 16 bytes each); compaction keeps it at most 75% full
+    private int slots = 262_144;
+    // Value log size; compaction drops expired and then the oldest translations to free half of it
+    private DataSize logCapacity = DataSize.ofMegabytes(64);
+    private Duration ttl = Duration.ofDays(30);
+}
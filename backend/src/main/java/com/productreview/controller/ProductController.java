@@ -3,6 +3,7 @@ package com.productreview.controller;
 import com.productreview.dto.ProductDTO;
 import com.productreview.dto.ProductDetailDTO;
 import com.productreview.dto.ReviewSummaryResponseDTO;
+import com.productreview.event.ProductEventBroadcaster;
 import com.productreview.service.GroqReviewSummaryService;
 import com.productreview.service.ProductService;
 import lombok.RequiredArgsConstructor;
@@ -11,11 +12,14 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/products")
@@ -25,6 +29,7 @@ public class ProductController {
     
     private final ProductService productService;
     private final GroqReviewSummaryService groqReviewSummaryService;
+    private final ProductEventBroadcaster productEventBroadcaster;
     
     @GetMapping
     public ResponseEntity<Page<ProductDTO>> getAllProducts(
@@ -77,13 +82,18 @@ public class ProductController {
     }
 
     @GetMapping("/{productId}/review-summary")
-    public ResponseEntity<ReviewSummaryResponseDTO> getReviewSummary(
+    public CompletableFuture<ResponseEntity<ReviewSummaryResponseDTO>> getReviewSummary(
             @PathVariable Long productId,
             @RequestParam(defaultValue = "30") int limit,
             @RequestParam(defaultValue = "en") String lang
     ) {
-        ReviewSummaryResponseDTO summary = groqReviewSummaryService.getReviewSummary(productId, limit, lang);
-        return ResponseEntity.ok(summary);
+        return groqReviewSummaryService.getReviewSummary(productId, limit, lang)
+                .thenApply(ResponseEntity::ok);
+    }
+    
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamProductEvents(@PathVariable Long id) {
+        return productEventBroadcaster.subscribe(id);
     }
     
     @PostMapping
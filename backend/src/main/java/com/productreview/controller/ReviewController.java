@@ -1,5 +1,6 @@
 package com.productreview.controller;
 
+import com.productreview.annotation.Idempotent;
 import com.productreview.dto.CreateReviewDTO;
 import com.productreview.dto.HelpfulVoteResponseDTO;
 import com.productreview.dto.ReviewDTO;
@@ -28,6 +29,7 @@ public class ReviewController {
     
     @PostMapping
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    @Idempotent("review.create")
     public ResponseEntity<?> createReview(@Valid @RequestBody CreateReviewDTO createReviewDTO) {
         try {
             ReviewDTO review = reviewService.createReview(createReviewDTO);
@@ -90,7 +92,8 @@ public class ReviewController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "DESC") String sortDir,
-            @RequestParam(required = false) Integer minRating
+            @RequestParam(required = false) Integer minRating,
+            @RequestParam(required = false) String deviceId
     ) {
         Sort primary = sortDir.equalsIgnoreCase("ASC")
                 ? Sort.by(sortBy).ascending()
@@ -101,12 +104,13 @@ public class ReviewController {
                 : primary;
         Pageable pageable = PageRequest.of(page, size, sort);
         
-        Page<ReviewDTO> reviews = reviewService.getReviewsByProductId(productId, pageable, minRating);
+        Page<ReviewDTO> reviews = reviewService.getReviewsByProductId(productId, pageable, minRating, deviceId);
         return ResponseEntity.ok(reviews);
     }
 
     @PostMapping("/{reviewId}/helpful")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    @Idempotent("review.helpful")
     public ResponseEntity<?> toggleHelpful(
             @PathVariable Long reviewId,
             @RequestParam String deviceId
@@ -0,0 +1,24 @@
+package com.productreview.controller;
+
+import com.productreview.dto.SyncResponseDTO;
+import com.productreview.service.SyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    @GetMapping
+    public ResponseEntity<SyncResponseDTO> sync(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "500") int limit
+    ) {
+        return ResponseEntity.ok(syncService.sync(since, limit));
+    }
+}
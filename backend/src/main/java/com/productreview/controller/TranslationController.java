@@ -8,6 +8,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/translate")
 @RequiredArgsConstructor
@@ -17,8 +19,8 @@ public class TranslationController {
     private final GroqTranslationService groqTranslationService;
 
     @PostMapping
-    public ResponseEntity<TranslateResponseDTO> translate(@Valid @RequestBody TranslateRequestDTO request) {
-        TranslateResponseDTO res = groqTranslationService.translateBatch(request.getTexts(), request.getLang());
-        return ResponseEntity.ok(res);
+    public CompletableFuture<ResponseEntity<TranslateResponseDTO>> translate(@Valid @RequestBody TranslateRequestDTO request) {
+        return groqTranslationService.translateBatch(request.getTexts(), request.getLang())
+                .thenApply(ResponseEntity::ok);
     }
 }
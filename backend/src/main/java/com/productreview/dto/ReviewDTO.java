@@ -18,4 +18,6 @@ public class ReviewDTO {
     private String deviceId;
     private Long helpfulCount;
     private LocalDateTime createdAt;
+    // Only resolved when the caller passes a deviceId; null otherwise.
+    private Boolean helpfulByMe;
 }
@@ -19,4 +19,6 @@ public class ReviewSummaryResponseDTO {
     private java.util.List<String> cons;
     private java.util.List<String> topTopics;
     private String generatedAt;
+    // Reviews changed since this summary was generated; a fresh one is being prepared.
+    private Boolean stale;
 }
@@ -0,0 +1,24 @@
+package com.productreview.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResponseDTO {
+    private String nextToken;
+    private boolean hasMore;
+    // With hasMore: wait this long before the next page, which is held back by a transaction
+    // that may still be open. 0 means ask right away.
+    private long retryAfterMillis;
+    // Token unknown or older than the change log: drop local data and download everything again.
+    private boolean fullResync;
+    private List<ProductDTO> products;
+    private List<ReviewDTO> reviews;
+    private List<Long> deletedProductIds;
+    private List<Long> deletedReviewIds;
+}
@@ -0,0 +1,31 @@
+package com.productreview.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "job_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobCheckpoint {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    // Last key the job finished; the next run resumes after it. 0 = start of a new pass.
+    @Column(name = "last_key", nullable = false)
+    private Long lastKey;
+
+    // Held by the node currently running the job, so only one node runs it at a time.
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
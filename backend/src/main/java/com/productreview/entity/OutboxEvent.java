@@ -0,0 +1,48 @@
+package com.productreview.entity;
+
+import com.productreview.event.ChangeType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(
+        name = "outbox_events",
+        indexes = {
+                @Index(name = "idx_outbox_events_created_at", columnList = "created_at"),
+                @Index(name = "idx_outbox_events_product_id", columnList = "product_id")
+        }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 40)
+    private ChangeType eventType;
+
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "review_id")
+    private Long reviewId;
+
+    @Column(columnDefinition = "TEXT")
+    private String payload; // JSON object
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
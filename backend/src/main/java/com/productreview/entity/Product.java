@@ -45,12 +45,20 @@ public class Product {
 
     @Column(name = "review_count")
     private Long reviewCount;
+
+    // Bumped by every review create, update and delete; summaries record the version they were built from.
+    @Column(name = "review_set_version", nullable = false, columnDefinition = "bigint default 0")
+    private Long reviewSetVersion;
     
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Review> reviews;
     
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
+
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
     
     @PrePersist
     protected void onCreate() {
@@ -61,6 +69,9 @@ public class Product {
         if (reviewCount == null) {
             reviewCount = 0L;
         }
+        if (reviewSetVersion == null) {
+            reviewSetVersion = 0L;
+        }
         // Normalize product name
         if (name != null) {
             name = ProductNameUtil.normalizeProductName(name);
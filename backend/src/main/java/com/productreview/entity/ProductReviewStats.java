@@ -0,0 +1,43 @@
+package com.productreview.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "product_review_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductReviewStats {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    // Fingerprint of the topic keyword catalog the counters were built with; a mismatch forces a rebuild.
+    @Column(name = "catalog_version", nullable = false, length = 32)
+    private String catalogVersion;
+
+    @Column(name = "commented_reviews", nullable = false)
+    private Long commentedReviews;
+
+    @Column(name = "topic_counts", columnDefinition = "TEXT", nullable = false)
+    private String topicCounts; // {"battery":[mentions,positive,negative],...}
+
+    @Column(name = "pro_snippets", columnDefinition = "TEXT", nullable = false)
+    private String proSnippets; // [{"reviewId":1,"text":"..."}], newest first
+
+    @Column(name = "con_snippets", columnDefinition = "TEXT", nullable = false)
+    private String conSnippets;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+}
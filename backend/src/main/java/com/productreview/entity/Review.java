@@ -10,6 +10,9 @@ import java.time.LocalDateTime;
 @Entity
 @Table(
         name = "reviews",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_reviews_product_device", columnNames = {"product_id", "device_id"})
+        },
         indexes = {
                 @Index(name = "idx_reviews_product_id", columnList = "product_id"),
                 @Index(name = "idx_reviews_product_id_created_at", columnList = "product_id, created_at"),
@@ -42,11 +45,16 @@ public class Review {
     @Column(name = "device_id", length = 128)
     private String deviceId;
 
-    @Column(name = "helpful_count", nullable = false)
+    // Only ever changed by atomic UPDATEs in ReviewRepository, so entity flushes must not overwrite it.
+    @Column(name = "helpful_count", nullable = false, updatable = false)
     private Long helpfulCount = 0L;
     
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
+
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
     
     @PrePersist
     protected void onCreate() {
@@ -0,0 +1,55 @@
+package com.productreview.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(
+        name = "review_summaries",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_review_summaries_product_lang", columnNames = {"product_id", "lang"})
+        }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewSummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(nullable = false, length = 8)
+    private String lang;
+
+    @Column(name = "review_set_version", nullable = false)
+    private Long reviewSetVersion;
+
+    @Column(nullable = false, length = 16)
+    private String source;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload; // ReviewSummaryResponseDTO as JSON
+
+    // Highest review id the summary had seen, and how many incremental updates sit on top of
+    // the last full generation; both null for LOCAL rows and rows from before incremental refresh.
+    @Column(name = "last_review_id")
+    private Long lastReviewId;
+
+    @Column(name = "incremental_updates")
+    private Integer incrementalUpdates;
+
+    @Column(name = "generated_at", nullable = false)
+    private LocalDateTime generatedAt;
+
+    // Set by the node currently regenerating this summary, so other nodes skip the Groq call.
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+}
@@ -0,0 +1,19 @@
+package com.productreview.event;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A committed review/product change, read back from the outbox.
+ *
+ * @param sequence outbox id; strictly increasing in delivery order
+ */
+public record ChangeEvent(
+        long sequence,
+        ChangeType type,
+        Long productId,
+        Long reviewId,
+        Map<String, Object> payload,
+        LocalDateTime occurredAt
+) {
+}
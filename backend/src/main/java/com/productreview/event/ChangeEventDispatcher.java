@@ -0,0 +1,163 @@
+package com.productreview.event;
+
+import com.productreview.service.OutboxService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Polls the outbox and hands committed events to every {@link ChangeEventSubscriber} in
+ * sequence order. Offsets live in memory and start at the outbox head when the node boots:
+ * subscribers are caches that begin empty, so there is no history to replay.
+ * <p>
+ * A subscriber that throws gets the same event again on the next poll, up to
+ * {@code app.outbox.max-attempts} times; then the event is skipped for that subscriber and counted
+ * in {@code outbox.dispatch.skipped}. Reads start at the slowest offset, so without the limit one
+ * poison event would hold back every subscriber.
+ * <p>
+ * Reads do not wait at sequence gaps. A missing sequence is re-read every poll for
+ * {@code app.outbox.gap-window}; if its transaction commits in that time the event goes to the
+ * subscribers that already passed it, out of order and without redelivery on failure. After the
+ * window it is taken for a rollback ({@code outbox.gaps.expired}), and an event committed even
+ * later than that is lost to the live subscribers.
+ */
+@Component
+public class ChangeEventDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeEventDispatcher.class);
+
+    private static final int BATCH_SIZE = 500;
+    // Bounds the re-read of missing sequences; a wider hole (e.g. a sequence jump) is not tracked.
+    private static final int MAX_TRACKED_GAPS = 1000;
+
+    private final OutboxService outboxService;
+    private final List<ChangeEventSubscriber> subscribers;
+    private final int maxAttempts;
+    private final long gapWindowMillis;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Long> offsets = new ConcurrentHashMap<>();
+    // subscriber -> the event it keeps failing on, and how often it has
+    private final Map<String, Failure> failures = new ConcurrentHashMap<>();
+    // missing sequence -> when it was first stepped over; only touched inside dispatch()
+    private final Map<Long, Long> gaps = new LinkedHashMap<>();
+    // Highest sequence read so far: gaps below it are already tracked or given up on.
+    private long scanned;
+
+    public ChangeEventDispatcher(
+            OutboxService outboxService,
+            List<ChangeEventSubscriber> subscribers,
+            MeterRegistry meterRegistry,
+            @Value("${app.outbox.max-attempts:5}") int maxAttempts,
+            @Value("${app.outbox.gap-window:60s}") Duration gapWindow
+    ) {
+        this.outboxService = outboxService;
+        this.subscribers = subscribers;
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.gapWindowMillis = gapWindow.toMillis();
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:250}")
+    public synchronized void dispatch() {
+        if (subscribers.isEmpty()) return;
+        if (offsets.isEmpty()) {
+            long head = outboxService.latestSequence();
+            subscribers.forEach(s -> offsets.put(s.name(), head));
+            scanned = head;
+            return;
+        }
+        if (!gaps.isEmpty()) {
+            deliverLateEvents();
+        }
+
+        long from = Long.MAX_VALUE;
+        for (ChangeEventSubscriber subscriber : subscribers) {
+            from = Math.min(from, offsets.get(subscriber.name()));
+        }
+
+        List<ChangeEvent> events = outboxService.readAfter(from, BATCH_SIZE);
+        if (events.isEmpty()) return;
+        trackGaps(from, events);
+
+        for (ChangeEventSubscriber subscriber : subscribers) {
+            long offset = offsets.get(subscriber.name());
+            for (ChangeEvent event : events) {
+                if (event.sequence() <= offset) continue;
+                try {
+                    subscriber.onEvent(event);
+                } catch (Exception e) {
+                    Failure failure = failures.merge(subscriber.name(), new Failure(event.sequence(), 1),
+                            (old, next) -> old.sequence() == next.sequence() ? new Failure(old.sequence(), old.attempts() + 1) : next);
+                    if (failure.attempts() < maxAttempts) {
+                        // Offset stays put: this subscriber gets the same event again next poll.
+                        log.warn("Subscriber {} failed on outbox event {} (attempt {})", subscriber.name(), event.sequence(), failure.attempts(), e);
+                        break;
+                    }
+                    log.error("Subscriber {} skipped outbox event {} after {} attempts", subscriber.name(), event.sequence(), failure.attempts(), e);
+                    Counter.builder("outbox.dispatch.skipped").tag("subscriber", subscriber.name()).register(meterRegistry).increment();
+                }
+                failures.remove(subscriber.name());
+                offset = event.sequence();
+            }
+            offsets.put(subscriber.name(), offset);
+        }
+    }
+
+    private void trackGaps(long from, List<ChangeEvent> events) {
+        long now = System.currentTimeMillis();
+        long previous = from;
+        for (ChangeEvent event : events) {
+            for (long missing = Math.max(previous, scanned) + 1; missing < event.sequence(); missing++) {
+                if (gaps.size() >= MAX_TRACKED_GAPS) {
+                    log.warn("Not tracking outbox gap {}..{}: {} gaps pending", missing, event.sequence() - 1, gaps.size());
+                    break;
+                }
+                gaps.putIfAbsent(missing, now);
+            }
+            previous = event.sequence();
+        }
+        scanned = Math.max(scanned, previous);
+    }
+
+    private void deliverLateEvents() {
+        long expireBefore = System.currentTimeMillis() - gapWindowMillis;
+        Iterator<Long> firstSeen = gaps.values().iterator();
+        while (firstSeen.hasNext()) {
+            if (firstSeen.next() >= expireBefore) break; // insertion order is first-seen order
+            firstSeen.remove();
+            meterRegistry.counter("outbox.gaps.expired").increment();
+        }
+        for (ChangeEvent event : outboxService.readSequences(gaps.keySet())) {
+            gaps.remove(event.sequence());
+            meterRegistry.counter("outbox.gaps.filled").increment();
+            for (ChangeEventSubscriber subscriber : subscribers) {
+                // A subscriber below the event still reaches it in order.
+                if (offsets.get(subscriber.name()) < event.sequence()) continue;
+                try {
+                    subscriber.onEvent(event);
+                } catch (Exception e) {
+                    log.error("Subscriber {} skipped late outbox event {}", subscriber.name(), event.sequence(), e);
+                    Counter.builder("outbox.dispatch.skipped").tag("subscriber", subscriber.name()).register(meterRegistry).increment();
+                }
+            }
+        }
+    }
+
+    public long offsetOf(String subscriberName) {
+        return offsets.getOrDefault(subscriberName, 0L);
+    }
+
+    private record Failure(long sequence, int attempts) {
+    }
+}
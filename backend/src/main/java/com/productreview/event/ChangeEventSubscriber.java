@@ -0,0 +1,15 @@
+package com.productreview.event;
+
+/**
+ * In-process consumer of outbox events. Each subscriber has its own offset: a subscriber that
+ * throws is redelivered the same event on the next poll, and after {@code app.outbox.max-attempts}
+ * failures the event is skipped so it cannot hold back the others. An event whose transaction
+ * committed after later ones may arrive after them.
+ */
+public interface ChangeEventSubscriber {
+
+    /** Stable name used to track this subscriber's offset. */
+    String name();
+
+    void onEvent(ChangeEvent event);
+}
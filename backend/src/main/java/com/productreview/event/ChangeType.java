@@ -0,0 +1,10 @@
+package com.productreview.event;
+
+public enum ChangeType {
+    REVIEW_CREATED,
+    REVIEW_UPDATED,
+    REVIEW_DELETED,
+    PRODUCT_CREATED,
+    PRODUCT_DELETED,
+    HELPFUL_COUNT_CHANGED
+}
@@ -0,0 +1,254 @@
+package com.productreview.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.productreview.exception.NotFoundException;
+import com.productreview.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans outbox events out to per-product SSE watchers. Each event is rendered once per product
+ * and the same frame is queued for every watcher, so the cost of a change is independent of how
+ * many clients are listening. Watchers get a bounded queue drained by a small sender pool; one
+ * that falls {@code queue-capacity} frames behind is disconnected and is expected to reconnect
+ * and refetch, instead of the server buffering for it without limit.
+ * <p>
+ * The blocking socket write itself runs on a separate writer pool and a sender waits at most
+ * {@code send-timeout} for it, so a client that stopped reading costs one parked writer thread
+ * (until the container's write timeout fails it) and is disconnected, instead of holding a
+ * sender and stalling every other watcher.
+ */
+@Component
+public class ProductEventBroadcaster implements ChangeEventSubscriber {
+
+    private final ProductRepository productRepository;
+    private final int queueCapacity;
+    private final long timeoutMillis;
+    private final int maxWatchers;
+    private final long sendTimeoutMillis;
+    private final ExecutorService senders;
+    // Emitter send/complete are synchronized, so anything that may wait on a stalled write runs here.
+    private final ExecutorService writers = Executors.newCachedThreadPool();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<Long, Set<Watcher>> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger watcherCount = new AtomicInteger();
+    private final Counter droppedSlow;
+    private final Counter droppedStalled;
+    private volatile long lastSequence;
+
+    public ProductEventBroadcaster(
+            ProductRepository productRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.sse.queue-capacity:64}") int queueCapacity,
+            @Value("${app.sse.timeout:30m}") Duration timeout,
+            @Value("${app.sse.max-watchers:20000}") int maxWatchers,
+            @Value("${app.sse.sender-threads:4}") int senderThreads,
+            @Value("${app.sse.send-timeout:5s}") Duration sendTimeout
+    ) {
+        this.productRepository = productRepository;
+        this.queueCapacity = queueCapacity;
+        this.timeoutMillis = timeout.toMillis();
+        this.maxWatchers = maxWatchers;
+        this.sendTimeoutMillis = sendTimeout.toMillis();
+        this.senders = Executors.newFixedThreadPool(senderThreads);
+        this.droppedSlow = Counter.builder("sse.watchers.dropped")
+                .tag("reason", "slow_consumer")
+                .register(meterRegistry);
+        this.droppedStalled = Counter.builder("sse.watchers.dropped")
+                .tag("reason", "send_timeout")
+                .register(meterRegistry);
+        Gauge.builder("sse.watchers", watcherCount, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("sse.channels", channels, Map::size).register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long productId) {
+        if (!productRepository.existsById(productId)) {
+            throw new NotFoundException("Product not found with id: " + productId);
+        }
+        if (watcherCount.incrementAndGet() > maxWatchers) {
+            watcherCount.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many event stream subscribers");
+        }
+
+        Watcher watcher = new Watcher(productId, newEmitter(timeoutMillis), new ArrayBlockingQueue<>(queueCapacity));
+        watcher.emitter.onCompletion(() -> remove(watcher));
+        watcher.emitter.onTimeout(() -> remove(watcher));
+        watcher.emitter.onError(e -> remove(watcher));
+        channels.compute(productId, (id, set) -> {
+            Set<Watcher> watchers = set != null ? set : ConcurrentHashMap.newKeySet();
+            watchers.add(watcher);
+            return watchers;
+        });
+
+        // Anything before this sequence is not replayed: clients refetch once they see "ready".
+        Map<String, Object> ready = Map.of("productId", productId, "sequence", lastSequence);
+        enqueue(watcher, SseEmitter.event().name("ready").id(String.valueOf(lastSequence)).data(ready, MediaType.APPLICATION_JSON).build());
+        return watcher.emitter;
+    }
+
+    @Override
+    public String name() {
+        return "product-event-stream";
+    }
+
+    @Override
+    public void onEvent(ChangeEvent event) {
+        // Late events (see ChangeEventDispatcher) must not move the "ready" sequence back.
+        lastSequence = Math.max(lastSequence, event.sequence());
+        if (event.productId() == null) return;
+        Set<Watcher> watchers = channels.get(event.productId());
+        if (watchers == null || watchers.isEmpty()) return;
+
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = render(event);
+        for (Watcher watcher : watchers) {
+            enqueue(watcher, frame);
+        }
+        if (event.type() == ChangeType.PRODUCT_DELETED) {
+            watchers.forEach(w -> writers.execute(w.emitter::complete));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.sse.heartbeat-interval-ms:20000}")
+    public void heartbeat() {
+        if (channels.isEmpty()) return;
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = SseEmitter.event().comment("keepalive").build();
+        channels.values().forEach(watchers -> watchers.forEach(w -> enqueue(w, frame)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+        writers.shutdownNow();
+        channels.values().forEach(watchers -> watchers.forEach(w -> w.emitter.complete()));
+    }
+
+    SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> render(ChangeEvent event) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("sequence", event.sequence());
+        data.put("productId", event.productId());
+        if (event.reviewId() != null) data.put("reviewId", event.reviewId());
+        data.putAll(event.payload());
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(data);
+        } catch (Exception e) {
+            json = "{}";
+        }
+        return SseEmitter.event()
+                .id(String.valueOf(event.sequence()))
+                .name(event.type().name().toLowerCase(Locale.ROOT).replace('_', '-'))
+                .data(json, MediaType.APPLICATION_JSON)
+                .build();
+    }
+
+    private void enqueue(Watcher watcher, Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+        if (watcher.closed.get()) return;
+        if (!watcher.queue.offer(frame)) {
+            droppedSlow.increment();
+            remove(watcher);
+            writers.execute(watcher.emitter::complete);
+            return;
+        }
+        if (watcher.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(watcher));
+        }
+    }
+
+    private void drain(Watcher watcher) {
+        try {
+            Set<ResponseBodyEmitter.DataWithMediaType> frame;
+            while (!watcher.closed.get() && (frame = watcher.queue.poll()) != null) {
+                send(watcher, frame);
+            }
+        } catch (TimeoutException e) {
+            droppedStalled.increment();
+            remove(watcher);
+            writers.execute(watcher.emitter::complete);
+            return;
+        } catch (Exception e) {
+            remove(watcher);
+            writers.execute(() -> watcher.emitter.completeWithError(e));
+            return;
+        } finally {
+            watcher.draining.set(false);
+        }
+        // A frame queued after the loop saw an empty queue but before the flag was reset.
+        if (!watcher.queue.isEmpty() && !watcher.closed.get() && watcher.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(watcher));
+        }
+    }
+
+    private void send(Watcher watcher, Set<ResponseBodyEmitter.DataWithMediaType> frame) throws Exception {
+        Future<?> write = writers.submit(() -> {
+            watcher.emitter.send(frame);
+            return null;
+        });
+        try {
+            write.get(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        } catch (TimeoutException | InterruptedException e) {
+            // Best effort: a write blocked in the container may ignore the interrupt.
+            write.cancel(true);
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+
+    private void remove(Watcher watcher) {
+        if (!watcher.closed.compareAndSet(false, true)) return;
+        watcherCount.decrementAndGet();
+        watcher.queue.clear();
+        channels.computeIfPresent(watcher.productId, (id, watchers) -> {
+            watchers.remove(watcher);
+            return watchers.isEmpty() ? null : watchers;
+        });
+    }
+
+    private static final class Watcher {
+        private final Long productId;
+        private final SseEmitter emitter;
+        private final Queue<Set<ResponseBodyEmitter.DataWithMediaType>> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Watcher(Long productId, SseEmitter emitter, Queue<Set<ResponseBodyEmitter.DataWithMediaType>> queue) {
+            this.productId = productId;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
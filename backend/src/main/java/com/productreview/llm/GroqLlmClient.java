@@ -0,0 +1,115 @@
+package com.productreview.llm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.productreview.config.LlmProperties;
+import com.productreview.resilience.LlmCallGuard;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Groq (or any OpenAI-compatible) chat completions client. Every call goes through the shared
+ * {@link LlmCallGuard}, so bad statuses and empty completions count as failures for the breaker.
+ */
+@Component
+public class GroqLlmClient implements LlmClient {
+
+    private final LlmProperties properties;
+    private final LlmCallGuard llmCallGuard;
+    private final URI endpoint;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient;
+
+    public GroqLlmClient(LlmProperties properties, LlmCallGuard llmCallGuard) {
+        this.properties = properties;
+        this.llmCallGuard = llmCallGuard;
+        String baseUrl = properties.getBaseUrl().replaceAll("/+$", "");
+        this.endpoint = URI.create(baseUrl + "/chat/completions");
+        this.httpClient = HttpClient.newBuilder().connectTimeout(properties.getConnectTimeout()).build();
+    }
+
+    @Override
+    public boolean isConfigured() {
+        String apiKey = properties.getApiKey();
+        return apiKey != null && !apiKey.trim().isEmpty();
+    }
+
+    private String model() {
+        String model = properties.getModel();
+        return model == null || model.trim().isEmpty() ? LlmProperties.DEFAULT_MODEL : model.trim();
+    }
+
+    // sendAsync: no caller thread waits for Groq; the response is parsed on the HttpClient executor.
+    @Override
+    public CompletableFuture<String> complete(LlmRequest llmRequest) {
+        if (!isConfigured()) {
+            return CompletableFuture.failedFuture(new IllegalStateException("LLM API key is not configured"));
+        }
+
+        Map<String, Object> req = new HashMap<>();
+        req.put("model", model());
+        req.put("temperature", llmRequest.temperature());
+        req.put("messages", List.of(
+                Map.of("role", "system", "content", llmRequest.systemPrompt()),
+                Map.of("role", "user", "content", llmRequest.userPrompt())
+        ));
+
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder()
+                    .uri(endpoint)
+                    .timeout(properties.getRequestTimeout())
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", "Bearer " + properties.getApiKey().trim())
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(req)))
+                    .build();
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Groq call failed"));
+        }
+
+        return llmCallGuard.call(() -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(this::extractContent));
+    }
+
+    private String extractContent(HttpResponse<String> response) {
+        if (response.statusCode() < 200 || response.statusCode() >= 300) {
+            String snippet = snippet(response.body());
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_GATEWAY,
+                    "Groq call failed with status " + response.statusCode() + (snippet.isEmpty() ? "" : (": " + snippet))
+            );
+        }
+
+        JsonNode contentNode;
+        try {
+            contentNode = objectMapper.readTree(response.body())
+                    .path("choices")
+                    .path(0)
+                    .path("message")
+                    .path("content");
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Groq response was not valid JSON");
+        }
+        if (contentNode.isMissingNode() || contentNode.asText().trim().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Groq returned empty response");
+        }
+        return contentNode.asText();
+    }
+
+    private String snippet(String body) {
+        if (body == null) return "";
+        String s = body.replace("\n", " ").replace("\r", " ").trim();
+        return s.length() > 500 ? s.substring(0, 500) : s;
+    }
+}
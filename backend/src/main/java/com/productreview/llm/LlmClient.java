@@ -0,0 +1,16 @@
+package com.productreview.llm;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Outbound LLM provider used by the summary and translation services. Implementations complete
+ * the future with the assistant message content, or exceptionally on any transport, status or
+ * protocol error; callers own prompt building and parsing of the content itself.
+ */
+public interface LlmClient {
+
+    /** False when no credentials are configured; callers then skip straight to their LOCAL result. */
+    boolean isConfigured();
+
+    CompletableFuture<String> complete(LlmRequest request);
+}
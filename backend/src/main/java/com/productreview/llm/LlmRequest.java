@@ -0,0 +1,5 @@
+package com.productreview.llm;
+
+/** One system + user prompt pair sent as a chat completion. */
+public record LlmRequest(String systemPrompt, String userPrompt, double temperature) {
+}
@@ -0,0 +1,208 @@
+package com.productreview.llm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.productreview.config.LlmProperties;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Embedded OpenAI-compatible chat completions endpoint for offline and load testing. Answers
+ * summary prompts with canned JSON and translation prompts by echoing the input texts tagged
+ * with the target language, after a latency drawn from the configured distribution.
+ * <p>
+ * Responses are delayed on a scheduler rather than by sleeping in the handler, so a handful of
+ * threads can hold thousands of slow requests open, the way a real provider would.
+ */
+public class LlmStubServer {
+
+    private static final double Z_99 = 2.3263;
+    private static final Pattern OUTPUT_LANG = Pattern.compile("Output language: ([a-z]{2})");
+    private static final Pattern OUTPUT_LANGS = Pattern.compile("Output languages: ([a-z, ]+)\\.");
+
+    private final LlmProperties.Stub config;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    private HttpServer server;
+    private ExecutorService handlers;
+    private ScheduledExecutorService responders;
+
+    public LlmStubServer(LlmProperties.Stub config) {
+        this.config = config;
+    }
+
+    public synchronized void start() throws IOException {
+        if (server != null) return;
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), config.getPort()), 1024);
+        handlers = Executors.newFixedThreadPool(Math.max(1, config.getHandlerThreads()), daemonThreads("llm-stub-handler-"));
+        responders = Executors.newScheduledThreadPool(2, daemonThreads("llm-stub-responder-"));
+        server.setExecutor(handlers);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public synchronized void stop() {
+        if (server == null) return;
+        server.stop(0);
+        responders.shutdownNow();
+        handlers.shutdownNow();
+        server = null;
+    }
+
+    /** Bound port; differs from the configured one when that was 0. */
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + port() + "/openai/v1";
+    }
+
+    public long requestCount() {
+        return requests.get();
+    }
+
+    public long errorCount() {
+        return errors.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        byte[] requestBody;
+        try (InputStream in = exchange.getRequestBody()) {
+            requestBody = in.readAllBytes();
+        }
+
+        int status;
+        byte[] responseBody;
+        if (!"POST".equals(exchange.getRequestMethod()) || !exchange.getRequestURI().getPath().endsWith("/chat/completions")) {
+            status = 404;
+            responseBody = error("not found");
+        } else if (ThreadLocalRandom.current().nextDouble() < config.getErrorRate()) {
+            errors.incrementAndGet();
+            status = config.getErrorStatus();
+            responseBody = error("stub injected failure");
+        } else {
+            try {
+                status = 200;
+                responseBody = completion(objectMapper.readTree(requestBody));
+            } catch (Exception e) {
+                status = 400;
+                responseBody = error("unreadable request");
+            }
+        }
+
+        int finalStatus = status;
+        byte[] finalBody = responseBody;
+        responders.schedule(() -> respond(exchange, finalStatus, finalBody), nextLatencyMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void respond(HttpExchange exchange, int status, byte[] body) {
+        try {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (IOException ignored) {
+            // Client gave up (request timeout); nothing to do.
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private byte[] completion(JsonNode request) throws IOException {
+        JsonNode messages = request.path("messages");
+        String system = messages.path(0).path("content").asText("");
+        String user = messages.path(1).path("content").asText("");
+
+        String content = system.contains("translations") ? translations(system, user) : summaries(system);
+
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("id", "stub-" + requests.get());
+        root.put("object", "chat.completion");
+        root.put("model", request.path("model").asText("stub"));
+        ObjectNode choice = root.putArray("choices").addObject();
+        choice.put("index", 0);
+        choice.putObject("message").put("role", "assistant").put("content", content);
+        choice.put("finish_reason", "stop");
+        return objectMapper.writeValueAsBytes(root);
+    }
+
+    // Multi-language prompts get the canned summary under each requested language code.
+    private String summaries(String system) throws IOException {
+        Matcher m = OUTPUT_LANGS.matcher(system);
+        if (!m.find()) return config.getSummaryContent();
+
+        JsonNode summary = objectMapper.readTree(config.getSummaryContent());
+        ObjectNode out = objectMapper.createObjectNode();
+        for (String lang : m.group(1).split(",\\s*")) {
+            out.set(lang, summary);
+        }
+        return objectMapper.writeValueAsString(out);
+    }
+
+    private String translations(String system, String user) throws IOException {
+        Matcher m = OUTPUT_LANG.matcher(system);
+        String lang = m.find() ? m.group(1) : "xx";
+
+        ObjectNode out = objectMapper.createObjectNode();
+        ArrayNode translated = out.putArray("translations");
+        int start = user.indexOf('[', Math.max(0, user.indexOf("Input texts:")));
+        if (start >= 0) {
+            for (JsonNode text : objectMapper.readTree(user.substring(start))) {
+                translated.add("[" + lang + "] " + text.asText(""));
+            }
+        }
+        return objectMapper.writeValueAsString(out);
+    }
+
+    private long nextLatencyMillis() {
+        long median = config.getLatencyMedian().toMillis();
+        if (config.getLatencyDistribution() == LlmProperties.LatencyDistribution.FIXED) {
+            return median;
+        }
+        long min = config.getLatencyMin().toMillis();
+        long p99 = config.getLatencyP99().toMillis();
+        if (median <= min || p99 <= median) {
+            return Math.max(min, median);
+        }
+        double sigma = Math.log((double) (p99 - min) / (median - min)) / Z_99;
+        double sample = (median - min) * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian());
+        return min + Math.min((long) sample, 10 * p99);
+    }
+
+    private byte[] error(String message) {
+        return ("{\"error\":{\"message\":\"" + message + "\"}}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger seq = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -0,0 +1,136 @@
+package com.productreview.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.productreview.config.RateLimitProperties;
+import com.productreview.entity.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-route, per-caller throttling for the write paths. Runs after JWT authentication so callers
+ * are keyed by user id when known, otherwise by remote address. The client-supplied deviceId is
+ * not a key: a new one per request would get a fresh bucket every time. Behind a proxy the remote
+ * address comes from X-Forwarded-For, which Tomcat only trusts from internal proxies
+ * ({@code server.forward-headers-strategy=native}).
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<RouteLimiter> routes = new ArrayList<>();
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+        properties.getRoutes().forEach((name, route) -> {
+            double tokensPerNano = (double) route.getRefillTokens() / route.getRefillPeriod().toNanos();
+            StripedRateLimiter limiter = new StripedRateLimiter(
+                    properties.getStripes(), properties.getMaxBucketsPerStripe(), route.getCapacity(), tokensPerNano);
+            routes.add(new RouteLimiter(name, route.getMethod(), route.getPath(), limiter));
+            Gauge.builder("rate_limiter.buckets", limiter, StripedRateLimiter::size)
+                    .tag("route", name)
+                    .register(meterRegistry);
+        });
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || routes.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        RouteLimiter route = match(request);
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = route.limiter.tryConsume(callerKey(request), System.nanoTime());
+        if (waitNanos == 0L) {
+            decision(route.name, "allowed").increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        decision(route.name, "rejected").increment();
+        long retryAfterSeconds = Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("timestamp", LocalDateTime.now());
+        error.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        error.put("error", HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase());
+        error.put("message", "Too many requests, retry in " + retryAfterSeconds + "s");
+        error.put("path", "uri=" + request.getRequestURI());
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        long idleNanos = properties.getIdleTimeout().toNanos();
+        for (RouteLimiter route : routes) {
+            route.limiter.evictIdle(now, idleNanos);
+        }
+    }
+
+    private RouteLimiter match(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (RouteLimiter route : routes) {
+            if (route.method != null && !route.method.equalsIgnoreCase(request.getMethod())) continue;
+            if (route.path != null && pathMatcher.match(route.path, path)) return route;
+        }
+        return null;
+    }
+
+    private String callerKey(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && auth.getPrincipal() instanceof User user && user.getId() != null) {
+            return "user:" + user.getId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private Counter decision(String route, String outcome) {
+        return Counter.builder("rate_limiter.decisions")
+                .tag("route", route)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record RouteLimiter(String name, String method, String path, StripedRateLimiter limiter) {
+    }
+}
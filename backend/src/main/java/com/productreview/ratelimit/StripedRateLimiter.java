@@ -0,0 +1,85 @@
+package com.productreview.ratelimit;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token buckets keyed by caller, spread over independent stripes. Each stripe is capped at
+ * {@code maxBucketsPerStripe}; idle or already refilled buckets are evicted first.
+ */
+final class StripedRateLimiter {
+
+    private final List<Map<String, TokenBucket>> stripes;
+    private final int stripeMask;
+    private final int maxBucketsPerStripe;
+    private final long capacity;
+    private final double tokensPerNano;
+
+    StripedRateLimiter(int stripeCount, int maxBucketsPerStripe, long capacity, double tokensPerNano) {
+        int n = Integer.highestOneBit(Math.max(1, stripeCount - 1) << 1);
+        this.stripes = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            stripes.add(new ConcurrentHashMap<>());
+        }
+        this.stripeMask = n - 1;
+        this.maxBucketsPerStripe = Math.max(1, maxBucketsPerStripe);
+        this.capacity = Math.max(1L, capacity);
+        this.tokensPerNano = tokensPerNano;
+    }
+
+    long tryConsume(String key, long nowNanos) {
+        Map<String, TokenBucket> stripe = stripeFor(key);
+        TokenBucket bucket = stripe.get(key);
+        if (bucket == null) {
+            if (stripe.size() >= maxBucketsPerStripe) {
+                evict(stripe, nowNanos, Long.MAX_VALUE);
+            }
+            bucket = stripe.computeIfAbsent(key, k -> new TokenBucket(capacity, tokensPerNano, nowNanos));
+        }
+        return bucket.tryConsume(nowNanos);
+    }
+
+    int evictIdle(long nowNanos, long idleNanos) {
+        int evicted = 0;
+        for (Map<String, TokenBucket> stripe : stripes) {
+            evicted += evict(stripe, nowNanos, idleNanos);
+        }
+        return evicted;
+    }
+
+    long size() {
+        long total = 0;
+        for (Map<String, TokenBucket> stripe : stripes) {
+            total += stripe.size();
+        }
+        return total;
+    }
+
+    private int evict(Map<String, TokenBucket> stripe, long nowNanos, long idleNanos) {
+        int evicted = 0;
+        Iterator<TokenBucket> it = stripe.values().iterator();
+        while (it.hasNext()) {
+            TokenBucket bucket = it.next();
+            if (bucket.isFull(nowNanos) || nowNanos - bucket.lastAccessNanos() > idleNanos) {
+                it.remove();
+                evicted++;
+            }
+        }
+        if (stripe.size() >= maxBucketsPerStripe) {
+            // Still saturated by active callers: drop the least recently used one to stay bounded.
+            stripe.entrySet().stream()
+                    .min((a, b) -> Long.compare(a.getValue().lastAccessNanos(), b.getValue().lastAccessNanos()))
+                    .ifPresent(e -> stripe.remove(e.getKey(), e.getValue()));
+            evicted++;
+        }
+        return evicted;
+    }
+
+    private Map<String, TokenBucket> stripeFor(String key) {
+        int h = key.hashCode();
+        return stripes.get((h ^ (h >>> 16)) & stripeMask);
+    }
+}
@@ -0,0 +1,58 @@
+package com.productreview.ratelimit;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free token bucket: the refill-and-take step is a single CAS on an immutable state,
+ * so concurrent requests for the same key never block each other.
+ */
+public final class TokenBucket {
+
+    private final long capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+    private volatile long lastAccessNanos;
+
+    public TokenBucket(long capacity, double tokensPerNano, long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerNano;
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+        this.lastAccessNanos = nowNanos;
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @return 0 when the request is allowed, otherwise the nanos until a token will be available
+     */
+    public long tryConsume(long nowNanos) {
+        lastAccessNanos = nowNanos;
+        while (true) {
+            State current = state.get();
+            double tokens = available(current, nowNanos);
+            if (tokens < 1.0) {
+                return Math.max(1L, (long) Math.ceil((1.0 - tokens) / tokensPerNano));
+            }
+            if (state.compareAndSet(current, new State(tokens - 1.0, Math.max(nowNanos, current.refilledAt)))) {
+                return 0L;
+            }
+        }
+    }
+
+    long lastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    // A full bucket is indistinguishable from a fresh one, so dropping it loses no state.
+    boolean isFull(long nowNanos) {
+        return available(state.get(), nowNanos) >= capacity;
+    }
+
+    private double available(State s, long nowNanos) {
+        long elapsed = Math.max(0L, nowNanos - s.refilledAt);
+        return Math.min(capacity, s.tokens + elapsed * tokensPerNano);
+    }
+
+    private record State(double tokens, long refilledAt) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.productreview.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+@Component
+@Profile("!postgres")
+@RequiredArgsConstructor
+public class H2HelpfulVoteInserter implements HelpfulVoteInserter {
+
+    private final ReviewHelpfulVoteRepository reviewHelpfulVoteRepository;
+
+    @Override
+    public int insertIfAbsent(Long reviewId, String deviceId) {
+        return reviewHelpfulVoteRepository.mergeVoteIfAbsent(reviewId, deviceId);
+    }
+}
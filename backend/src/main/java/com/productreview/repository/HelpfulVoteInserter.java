@@ -0,0 +1,10 @@
+package com.productreview.repository;
+
+/**
+ * Dialect-specific "insert unless present" for {@code review_helpful_votes}.
+ * Returns the number of inserted rows: 0 when the vote already exists or the review does not.
+ */
+public interface HelpfulVoteInserter {
+
+    int insertIfAbsent(Long reviewId, String deviceId);
+}
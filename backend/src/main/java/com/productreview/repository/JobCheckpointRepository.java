@@ -0,0 +1,19 @@
+package com.productreview.repository;
+
+import com.productreview.entity.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+
+    @Modifying
+    @Query("UPDATE JobCheckpoint c SET c.leaseUntil = :until " +
+           "WHERE c.name = :name AND (c.leaseUntil IS NULL OR c.leaseUntil < :now)")
+    int claimLease(@Param("name") String name, @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+}
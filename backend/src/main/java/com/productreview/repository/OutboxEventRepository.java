@@ -0,0 +1,29 @@
+package com.productreview.repository;
+
+import com.productreview.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Query("SELECT e FROM OutboxEvent e WHERE e.id > :afterId ORDER BY e.id")
+    List<OutboxEvent> findAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM OutboxEvent e")
+    Long findMaxId();
+
+    @Query("SELECT COALESCE(MIN(e.id), 0) FROM OutboxEvent e")
+    Long findMinId();
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
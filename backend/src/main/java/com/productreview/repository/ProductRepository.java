@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -34,6 +35,15 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
     @Query("SELECT p FROM Product p WHERE p.category = :category AND (LOWER(p.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR LOWER(p.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) ")
     Page<Product> findByCategoryAndSearch(@Param("category") String category, @Param("searchTerm") String searchTerm, Pageable pageable);
     
+    @Query("SELECT p.reviewSetVersion FROM Product p WHERE p.id = :id")
+    Optional<Long> findReviewSetVersionById(@Param("id") Long id);
+
+    // Keyset page of reviewed products whose stored summary in :lang is missing or built from an older review set.
+    @Query("SELECT p.id FROM Product p WHERE p.id > :afterId AND p.reviewCount > 0 AND NOT EXISTS " +
+           "(SELECT s.id FROM ReviewSummary s WHERE s.productId = p.id AND s.lang = :lang AND s.reviewSetVersion = p.reviewSetVersion) " +
+           "ORDER BY p.id")
+    List<Long> findIdsWithOutdatedSummaryAfter(@Param("afterId") Long afterId, @Param("lang") String lang, Pageable pageable);
+
     @Query("SELECT p FROM Product p LEFT JOIN FETCH p.reviews WHERE p.id = :id")
     Optional<Product> findByIdWithReviews(@Param("id") Long id);
 }
@@ -0,0 +1,26 @@
+package com.productreview.repository;
+
+import com.productreview.entity.ProductReviewStats;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProductReviewStatsRepository extends JpaRepository<ProductReviewStats, Long> {
+
+    @Query("SELECT p.id FROM Product p WHERE p.id > :afterId AND NOT EXISTS " +
+           "(SELECT s.productId FROM ProductReviewStats s WHERE s.productId = p.id AND s.catalogVersion = :catalogVersion) " +
+           "ORDER BY p.id")
+    List<Long> findProductIdsNeedingRebuild(@Param("afterId") Long afterId,
+                                            @Param("catalogVersion") String catalogVersion,
+                                            Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM ProductReviewStats s WHERE s.productId = :productId")
+    int deleteByProductId(@Param("productId") Long productId);
+}
@@ -2,8 +2,13 @@ package com.productreview.repository;
 
 import com.productreview.entity.ReviewHelpfulVote;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +17,32 @@ public interface ReviewHelpfulVoteRepository extends JpaRepository<ReviewHelpful
     Optional<ReviewHelpfulVote> findByReviewIdAndDeviceId(Long reviewId, String deviceId);
 
     long countByReviewId(Long reviewId);
+
+    // Single IN (...) probe served by uk_review_helpful_review_device.
+    @Query("SELECT v.review.id FROM ReviewHelpfulVote v WHERE v.deviceId = :deviceId AND v.review.id IN :reviewIds")
+    List<Long> findVotedReviewIds(@Param("deviceId") String deviceId, @Param("reviewIds") Collection<Long> reviewIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM review_helpful_votes WHERE review_id = :reviewId AND device_id = :deviceId", nativeQuery = true)
+    int deleteVote(@Param("reviewId") Long reviewId, @Param("deviceId") String deviceId);
+
+    // Selecting from reviews turns a missing review into "0 rows" instead of a FK violation.
+    @Modifying
+    @Query(
+            value = "INSERT INTO review_helpful_votes (review_id, device_id) "
+                    + "SELECT r.id, :deviceId FROM reviews r WHERE r.id = :reviewId "
+                    + "ON CONFLICT (review_id, device_id) DO NOTHING",
+            nativeQuery = true
+    )
+    int insertVoteOnConflictDoNothing(@Param("reviewId") Long reviewId, @Param("deviceId") String deviceId);
+
+    @Modifying
+    @Query(
+            value = "MERGE INTO review_helpful_votes v "
+                    + "USING (SELECT r.id AS review_id, CAST(:deviceId AS VARCHAR(128)) AS device_id FROM reviews r WHERE r.id = :reviewId) s "
+                    + "ON v.review_id = s.review_id AND v.device_id = s.device_id "
+                    + "WHEN NOT MATCHED THEN INSERT (review_id, device_id) VALUES (s.review_id, s.device_id)",
+            nativeQuery = true
+    )
+    int mergeVoteIfAbsent(@Param("reviewId") Long reviewId, @Param("deviceId") String deviceId);
 }
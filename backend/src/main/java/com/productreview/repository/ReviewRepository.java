@@ -4,12 +4,14 @@ import com.productreview.entity.Review;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
@@ -34,13 +36,44 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     @Query("SELECT COUNT(r) FROM Review r WHERE r.product.id = :productId")
     Long countByProductId(@Param("productId") Long productId);
 
-    @Query("SELECT MAX(r.createdAt) FROM Review r WHERE r.product.id = :productId")
-    LocalDateTime findLatestCreatedAtByProductId(@Param("productId") Long productId);
-
     @Query("SELECT r.product.id, AVG(r.rating), COUNT(r) FROM Review r WHERE r.product.id IN :productIds GROUP BY r.product.id")
     List<Object[]> findAggregatesByProductIds(@Param("productIds") List<Long> productIds);
     
     boolean existsByProductIdAndDeviceId(Long productId, String deviceId);
+
+    // Keyset page of (id, comment, rating) for rebuilding a product's topic counters.
+    @Query("SELECT r.id, r.comment, r.rating FROM Review r WHERE r.product.id = :productId AND r.id > :afterId ORDER BY r.id")
+    List<Object[]> findCommentRowsAfter(@Param("productId") Long productId, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT r.id, r.comment FROM Review r WHERE r.product.id = :productId AND r.rating BETWEEN :minRating AND :maxRating " +
+           "AND r.comment IS NOT NULL ORDER BY r.createdAt DESC, r.id DESC")
+    List<Object[]> findLatestCommentsByRating(@Param("productId") Long productId,
+                                              @Param("minRating") Integer minRating,
+                                              @Param("maxRating") Integer maxRating,
+                                              Pageable pageable);
+
+    // Reviews sharing a (product, device) with a newer one; non-zero only where uk_reviews_product_device is missing.
+    @Query("SELECT COUNT(r) FROM Review r WHERE r.deviceId IS NOT NULL AND EXISTS " +
+            "(SELECT 1 FROM Review n WHERE n.product = r.product AND n.deviceId = r.deviceId AND n.id > r.id)")
+    long countSupersededDeviceReviews();
+
+    @Query("SELECT r.id, r.product.id, r.deviceId FROM Review r WHERE r.id > :afterId AND r.deviceId IS NOT NULL ORDER BY r.id")
+    List<Object[]> findDeviceKeysAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query(value = "UPDATE reviews SET helpful_count = helpful_count + 1 WHERE id = :reviewId", nativeQuery = true)
+    int incrementHelpfulCount(@Param("reviewId") Long reviewId);
+
+    @Modifying
+    @Query(value = "UPDATE reviews SET helpful_count = helpful_count - 1 WHERE id = :reviewId AND helpful_count > 0", nativeQuery = true)
+    int decrementHelpfulCount(@Param("reviewId") Long reviewId);
+
+    @Query("SELECT r.helpfulCount FROM Review r WHERE r.id = :reviewId")
+    Optional<Long> findHelpfulCountById(@Param("reviewId") Long reviewId);
+
+    // [reviewId, productId, helpfulCount]
+    @Query("SELECT r.id, r.product.id, r.helpfulCount FROM Review r WHERE r.id IN :reviewIds")
+    List<Object[]> findHelpfulCountsByIds(@Param("reviewIds") Collection<Long> reviewIds);
 }
 
 
@@ -0,0 +1,29 @@
+package com.productreview.repository;
+
+import com.productreview.entity.ReviewSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface ReviewSummaryRepository extends JpaRepository<ReviewSummary, Long> {
+
+    Optional<ReviewSummary> findByProductIdAndLang(Long productId, String lang);
+
+    @Modifying
+    @Query("UPDATE ReviewSummary s SET s.leaseUntil = :until " +
+           "WHERE s.productId = :productId AND s.lang = :lang AND (s.leaseUntil IS NULL OR s.leaseUntil < :now)")
+    int claimLease(@Param("productId") Long productId,
+                   @Param("lang") String lang,
+                   @Param("now") LocalDateTime now,
+                   @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("DELETE FROM ReviewSummary s WHERE s.productId = :productId")
+    int deleteByProductId(@Param("productId") Long productId);
+}
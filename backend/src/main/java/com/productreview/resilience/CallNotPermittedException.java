@@ -0,0 +1,9 @@
+package com.productreview.resilience;
+
+/** The LLM call was not attempted: the circuit is open or the bulkhead is full. */
+public class CallNotPermittedException extends RuntimeException {
+
+    public CallNotPermittedException(String message) {
+        super(message, null, false, false);
+    }
+}
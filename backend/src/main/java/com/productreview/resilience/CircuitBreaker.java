@@ -0,0 +1,141 @@
+package com.productreview.resilience;
+
+/**
+ * Count-based rolling-window circuit breaker. Opens when, over the last {@code windowSize}
+ * calls (and at least {@code minimumCalls}), the failure rate or the slow-call rate reaches its
+ * threshold. After {@code openNanos} it lets {@code halfOpenProbes} calls through and closes
+ * again only if those probes stay under both thresholds.
+ * <p>
+ * State changes are rare and cheap, so everything is guarded by the instance monitor.
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED(0), OPEN(1), HALF_OPEN(2);
+
+        private final int code;
+
+        State(int code) {
+            this.code = code;
+        }
+
+        public int code() {
+            return code;
+        }
+    }
+
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long slowCallNanos;
+    private final int slowCallRateThreshold;
+    private final long openNanos;
+    private final int halfOpenProbes;
+
+    // Ring buffer of outcomes: bit 0 = failed, bit 1 = slow
+    private final byte[] window;
+    private int next;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private int probesStarted;
+    private int probesFinished;
+    private int probeFailures;
+    private int probeSlowCalls;
+
+    public CircuitBreaker(int windowSize, int minimumCalls, int failureRateThreshold, long slowCallNanos,
+                          int slowCallRateThreshold, long openNanos, int halfOpenProbes) {
+        this.window = new byte[Math.max(1, windowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, window.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = slowCallNanos;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.openNanos = openNanos;
+        this.halfOpenProbes = Math.max(1, halfOpenProbes);
+    }
+
+    public synchronized boolean tryAcquire(long nowNanos) {
+        if (state == State.OPEN) {
+            if (nowNanos - openedAtNanos < openNanos) return false;
+            state = State.HALF_OPEN;
+            probesStarted = probesFinished = probeFailures = probeSlowCalls = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesStarted >= halfOpenProbes) return false;
+            probesStarted++;
+        }
+        return true;
+    }
+
+    public synchronized void onComplete(long durationNanos, boolean failed, long nowNanos) {
+        boolean slow = durationNanos >= slowCallNanos;
+        switch (state) {
+            case OPEN -> {
+                // Started before the breaker opened; the decision is already made.
+            }
+            case HALF_OPEN -> {
+                probesFinished++;
+                if (failed) probeFailures++;
+                if (slow) probeSlowCalls++;
+                if (probesFinished >= halfOpenProbes) {
+                    if (exceeds(probeFailures, probeSlowCalls, probesFinished)) {
+                        open(nowNanos);
+                    } else {
+                        state = State.CLOSED;
+                        resetWindow();
+                    }
+                }
+            }
+            case CLOSED -> {
+                record(failed, slow);
+                if (recorded >= minimumCalls && exceeds(failures, slowCalls, recorded)) {
+                    open(nowNanos);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gives back a half-open probe permit that never produced an outcome (e.g. the call was
+     * rejected by the bulkhead after the breaker let it through).
+     */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN && probesStarted > probesFinished) {
+            probesStarted--;
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    private boolean exceeds(int failed, int slow, int total) {
+        return failed * 100 >= failureRateThreshold * total || slow * 100 >= slowCallRateThreshold * total;
+    }
+
+    private void record(boolean failed, boolean slow) {
+        if (recorded == window.length) {
+            byte evicted = window[next];
+            if ((evicted & 1) != 0) failures--;
+            if ((evicted & 2) != 0) slowCalls--;
+        } else {
+            recorded++;
+        }
+        window[next] = (byte) ((failed ? 1 : 0) | (slow ? 2 : 0));
+        if (failed) failures++;
+        if (slow) slowCalls++;
+        next = (next + 1) % window.length;
+    }
+
+    private void open(long nowNanos) {
+        state = State.OPEN;
+        openedAtNanos = nowNanos;
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        next = recorded = failures = slowCalls = 0;
+    }
+}
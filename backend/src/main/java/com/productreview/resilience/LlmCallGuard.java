@@ -0,0 +1,86 @@
+package com.productreview.resilience;
+
+import com.productreview.config.LlmResilienceProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker plus semaphore bulkhead shared by every outbound Groq call on this node.
+ * A rejected call fails immediately with {@link CallNotPermittedException}, which callers
+ * already treat like any other Groq failure and answer with their LOCAL fallback.
+ */
+@Component
+public class LlmCallGuard {
+
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Counter rejectedOpen;
+    private final Counter rejectedBulkhead;
+    private final Timer latency;
+
+    public LlmCallGuard(LlmResilienceProperties properties, MeterRegistry meterRegistry) {
+        this.circuitBreaker = new CircuitBreaker(
+                properties.getWindowSize(),
+                properties.getMinimumCalls(),
+                properties.getFailureRateThreshold(),
+                properties.getSlowCallDuration().toNanos(),
+                properties.getSlowCallRateThreshold(),
+                properties.getOpenDuration().toNanos(),
+                properties.getHalfOpenProbes()
+        );
+        this.bulkhead = new Semaphore(properties.getMaxConcurrentCalls());
+
+        this.succeeded = Counter.builder("llm.calls").tag("outcome", "success").register(meterRegistry);
+        this.failed = Counter.builder("llm.calls").tag("outcome", "failure").register(meterRegistry);
+        this.rejectedOpen = Counter.builder("llm.calls").tag("outcome", "rejected_open").register(meterRegistry);
+        this.rejectedBulkhead = Counter.builder("llm.calls").tag("outcome", "rejected_bulkhead").register(meterRegistry);
+        this.latency = Timer.builder("llm.call.latency").register(meterRegistry);
+        // 0 = closed, 1 = open, 2 = half-open
+        Gauge.builder("llm.circuit_breaker.state", circuitBreaker, cb -> cb.state().code())
+                .tag("provider", "groq")
+                .register(meterRegistry);
+        Gauge.builder("llm.bulkhead.available", bulkhead, Semaphore::availablePermits).register(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> call(Supplier<CompletableFuture<T>> call) {
+        if (!circuitBreaker.tryAcquire(System.nanoTime())) {
+            rejectedOpen.increment();
+            return CompletableFuture.failedFuture(new CallNotPermittedException("Groq circuit breaker is open"));
+        }
+        if (!bulkhead.tryAcquire()) {
+            circuitBreaker.release();
+            rejectedBulkhead.increment();
+            return CompletableFuture.failedFuture(new CallNotPermittedException("Too many concurrent Groq calls"));
+        }
+
+        long started = System.nanoTime();
+        CompletableFuture<T> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.whenComplete((value, error) -> {
+            long now = System.nanoTime();
+            bulkhead.release();
+            circuitBreaker.onComplete(now - started, error != null, now);
+            latency.record(now - started, TimeUnit.NANOSECONDS);
+            (error == null ? succeeded : failed).increment();
+        });
+    }
+
+    public CircuitBreaker.State state() {
+        return circuitBreaker.state();
+    }
+}
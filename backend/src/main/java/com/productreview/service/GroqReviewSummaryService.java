@@ -6,67 +6,427 @@ import com.productreview.dto.ReviewSummaryDTO;
 import com.productreview.dto.ReviewSummaryResponseDTO;
 import com.productreview.entity.Product;
 import com.productreview.entity.Review;
+import com.productreview.event.ChangeEvent;
+import com.productreview.event.ChangeEventSubscriber;
+import com.productreview.event.ChangeType;
+import com.productreview.llm.LlmClient;
+import com.productreview.llm.LlmRequest;
 import com.productreview.repository.ProductRepository;
 import com.productreview.repository.ReviewRepository;
-import lombok.RequiredArgsConstructor;
+import com.productreview.util.MinHashDeduplicator;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
 
 @Service
-@RequiredArgsConstructor
-public class GroqReviewSummaryService {
+public class GroqReviewSummaryService implements ChangeEventSubscriber {
 
-    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
-    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(6);
-    private static final Duration CACHE_TTL = Duration.ofMinutes(10);
+    private static final List<String> SUPPORTED_LANGS = List.of("en", "tr", "es");
+    private static final String SUMMARY_KEYS =
+            "takeaway (string), pros (array of strings), cons (array of strings), topTopics (array of strings)";
 
     private final ProductRepository productRepository;
     private final ReviewRepository reviewRepository;
+    private final ReviewSummaryStore summaryStore;
+    private final ReviewStatsService reviewStatsService;
+    private final LlmClient llmClient;
+    // Spring Boot's task executor; runs on virtual threads when spring.threads.virtual.enabled is set.
+    private final Executor taskExecutor;
 
     private final ObjectMapper objectMapper = new ObjectMapper();
-    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(CONNECT_TIMEOUT).build();
 
-    private final Map<String, CacheEntry> cache = new ConcurrentHashMap<>();
+    // lang -> (productId -> summary), in front of the shared review_summaries table. Weight-bounded W-TinyLFU per language, so a burst of one-off
+    // products cannot push out the popular ones, and expired entries are removed by a scheduler
+    // instead of lingering until the next read. When reviews change the entry is kept but marked
+    // stale, and served as such until the background refresh replaces it.
+    private final Map<String, Cache<Long, CachedSummary>> caches = new HashMap<>();
+    // Bumped on every change event so a summary computed from pre-change reviews is not cached.
+    private final Map<Long, Long> productEpochs = new ConcurrentHashMap<>();
+    // productId|lang -> synchronous LOCAL generation currently running for it
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    // Decayed request counts per product; orders the refresh queue.
+    private final Map<Long, LongAdder> traffic = new ConcurrentHashMap<>();
+    private final SummaryRefreshQueue refreshQueue;
+    private final Duration refreshAfter;
+    private final Duration coalesceWaitTimeout;
+    // Ask Groq for every supported language in one call and warm all of them together.
+    private final boolean multilingual;
+    // Collapses near-duplicate reviews before prompting; null when disabled.
+    private final MinHashDeduplicator deduplicator;
+    private final DistributionSummary dedupeReduction;
+    // Incremental refresh: previous AI summary plus only the reviews created since it.
+    private final boolean incremental;
+    private final int maxIncrementalUpdates;
+    private final int maxIncrementalReviews;
+    private final Counter fullRefreshes;
+    private final Counter incrementalRefreshes;
+    private final Counter coalesceLeader;
+    private final Counter coalesceJoined;
+    private final Counter coalesceTimedOut;
+    private final Counter staleServed;
+
+    public GroqReviewSummaryService(
+            ProductRepository productRepository,
+            ReviewRepository reviewRepository,
+            ReviewSummaryStore summaryStore,
+            ReviewStatsService reviewStatsService,
+            MeterRegistry meterRegistry,
+            LlmClient llmClient,
+            @Qualifier("applicationTaskExecutor") Executor taskExecutor,
+            @Value("${app.review-summary.cache.ttl:1h}") Duration ttl,
+            @Value("${app.review-summary.cache.refresh-after:10m}") Duration refreshAfter,
+            @Value("${app.review-summary.cache.max-weight-per-language:4MB}") DataSize maxWeightPerLanguage,
+            @Value("${app.review-summary.coalesce-wait-timeout:2s}") Duration coalesceWaitTimeout,
+            @Value("${app.review-summary.refresh.threads:2}") int refreshThreads,
+            @Value("${app.review-summary.refresh.max-pending:1000}") int refreshMaxPending,
+            @Value("${app.review-summary.multilingual:true}") boolean multilingual,
+            @Value("${app.review-summary.dedupe.enabled:true}") boolean dedupeEnabled,
+            @Value("${app.review-summary.dedupe.similarity:0.7}") double dedupeSimilarity,
+            @Value("${app.review-summary.incremental.enabled:true}") boolean incremental,
+            @Value("${app.review-summary.incremental.max-updates:5}") int maxIncrementalUpdates,
+            @Value("${app.review-summary.incremental.max-new-reviews:20}") int maxIncrementalReviews
+    ) {
+        this.productRepository = productRepository;
+        this.reviewRepository = reviewRepository;
+        this.summaryStore = summaryStore;
+        this.reviewStatsService = reviewStatsService;
+        this.llmClient = llmClient;
+        this.taskExecutor = taskExecutor;
+        this.refreshAfter = refreshAfter;
+        this.coalesceWaitTimeout = coalesceWaitTimeout;
+        this.multilingual = multilingual;
+        this.deduplicator = dedupeEnabled ? new MinHashDeduplicator(dedupeSimilarity) : null;
+        this.dedupeReduction = DistributionSummary.builder("review_summary.prompt.dedupe_reduction")
+                .description("Share of usable reviews folded into a near-duplicate before prompting")
+                .register(meterRegistry);
+        this.coalesceLeader = Counter.builder("review_summary.generations").tag("role", "leader").register(meterRegistry);
+        this.coalesceJoined = Counter.builder("review_summary.generations").tag("role", "joined").register(meterRegistry);
+        this.coalesceTimedOut = Counter.builder("review_summary.generations").tag("role", "timed_out").register(meterRegistry);
+        this.staleServed = Counter.builder("review_summary.stale_served").register(meterRegistry);
+        this.incremental = incremental;
+        this.maxIncrementalUpdates = maxIncrementalUpdates;
+        this.maxIncrementalReviews = maxIncrementalReviews;
+        this.fullRefreshes = Counter.builder("review_summary.refresh.mode").tag("mode", "full").register(meterRegistry);
+        this.incrementalRefreshes = Counter.builder("review_summary.refresh.mode").tag("mode", "incremental").register(meterRegistry);
+        for (String lang : SUPPORTED_LANGS) {
+            Cache<Long, CachedSummary> cache = Caffeine.newBuilder()
+                    .maximumWeight(maxWeightPerLanguage.toBytes())
+                    .weigher((Long productId, CachedSummary summary) -> estimateBytes(summary.response()))
+                    .expireAfterWrite(ttl)
+                    .scheduler(Scheduler.systemScheduler())
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "review_summary", "lang", lang);
+            caches.put(lang, cache);
+        }
+        this.refreshQueue = new SummaryRefreshQueue(refreshThreads, refreshMaxPending, this::refresh, meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshQueue.shutdown();
+    }
+
+    @Override
+    public String name() {
+        return "review-summary-cache";
+    }
+
+    @Override
+    public void onEvent(ChangeEvent event) {
+        if (event.productId() == null) return;
+        if (event.type() == ChangeType.HELPFUL_COUNT_CHANGED || event.type() == ChangeType.PRODUCT_CREATED) return;
+        Long productId = event.productId();
+        productEpochs.merge(productId, 1L, Long::sum);
+        if (event.type() == ChangeType.PRODUCT_DELETED) {
+            caches.values().forEach(cache -> cache.invalidate(productId));
+            traffic.remove(productId);
+            return;
+        }
+        boolean submitted = false;
+        for (Map.Entry<String, Cache<Long, CachedSummary>> entry : caches.entrySet()) {
+            CachedSummary marked = entry.getValue().asMap().computeIfPresent(productId, (id, cached) -> cached.markStale());
+            // In multilingual mode one refresh rewrites every language; queueing one per language
+            // would have them race for the same Groq call.
+            if (marked != null && !(multilingual && submitted)) {
+                refreshQueue.submit(productId, entry.getKey(), marked.limit(), trafficOf(productId));
+                submitted = true;
+            }
+        }
+    }
 
-    public ReviewSummaryResponseDTO getReviewSummary(Long productId, int limit, String lang) {
+    /**
+     * Never waits on Groq. Hits and leaders complete before returning; a waiter gets the
+     * leader's future, so it holds no servlet thread while the leader loads the reviews.
+     */
+    public CompletableFuture<ReviewSummaryResponseDTO> getReviewSummary(Long productId, int limit, String lang) {
         String safeLang = normalizeLang(lang);
+        traffic.computeIfAbsent(productId, id -> new LongAdder()).increment();
+
+        CachedSummary cached = caches.get(safeLang).getIfPresent(productId);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(serve(productId, safeLang, cached));
+        }
+
+        // Total miss: answer with a LOCAL summary now and let the refresher produce the AI one.
+        // Single flight per product/lang, so concurrent misses load the reviews only once.
+        String flightKey = productId + "|" + safeLang;
+        InFlight mine = new InFlight();
+        InFlight leader = inFlight.putIfAbsent(flightKey, mine);
+        if (leader != null) {
+            return awaitLeader(leader, productId, limit, safeLang);
+        }
+
+        try {
+            // The previous leader may have cached its result just before we registered.
+            cached = caches.get(safeLang).getIfPresent(productId);
+            ReviewSummaryResponseDTO response;
+            if (cached != null) {
+                response = serve(productId, safeLang, cached);
+            } else {
+                long epoch = productEpochs.getOrDefault(productId, 0L);
+                ReviewSummaryStore.StoredSummary stored = summaryStore.find(productId, safeLang).orElse(null);
+                if (stored != null) {
+                    // Generated earlier by this or another node; stale if reviews changed since.
+                    boolean current = stored.reviewSetVersion() == summaryStore.currentVersion(productId);
+                    CachedSummary fromStore = new CachedSummary(stored.response(), limit, !current, stored.generatedAtMillis());
+                    putIfCurrent(productId, safeLang, epoch, fromStore);
+                    response = serve(productId, safeLang, fromStore);
+                } else {
+                    response = generate(productId, limit, safeLang, false);
+                    putIfCurrent(productId, safeLang, epoch, new CachedSummary(response, limit, false, System.currentTimeMillis()));
+                    if (isAiConfigured()) {
+                        refreshQueue.submit(productId, safeLang, limit, trafficOf(productId));
+                    }
+                }
+            }
+            mine.result.complete(response);
+            coalesceLeader.increment();
+            return CompletableFuture.completedFuture(response);
+        } catch (RuntimeException e) {
+            mine.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, mine);
+        }
+    }
+
+    /**
+     * The languages to pass to {@link #refreshStored} to bring all of a product's stored summaries
+     * up to date: only the first in multilingual mode, where one call generates every language.
+     */
+    List<String> storedRefreshLangs() {
+        return multilingual ? SUPPORTED_LANGS.subList(0, 1) : SUPPORTED_LANGS;
+    }
+
+    /**
+     * Brings the stored summary up to date on the calling thread, through the same path as the
+     * background refresher, making at most one LLM call. Used by {@link SummaryBatchJob}. Unlike
+     * the refresher it never stores a LOCAL fallback when Groq fails: the row stays outdated for a
+     * later pass, and the outcome is {@link RefreshOutcome#FAILED}.
+     */
+    RefreshOutcome refreshStored(Long productId, String lang, int limit) {
+        return refresh(new SummaryRefreshQueue.Task(productId, lang, limit, 0L, 0L), false);
+    }
+
+    String primaryLang() {
+        return SUPPORTED_LANGS.get(0);
+    }
+
+    // Halve the traffic counters so priorities follow recent demand rather than all-time totals.
+    @Scheduled(fixedDelayString = "${app.review-summary.refresh.traffic-decay-interval-ms:60000}")
+    public void decayTraffic() {
+        traffic.forEach((productId, counter) -> {
+            long sum = counter.sum();
+            if (sum <= 1) {
+                traffic.remove(productId, counter);
+            } else {
+                counter.add(-(sum / 2));
+            }
+        });
+    }
+
+    private ReviewSummaryResponseDTO serve(Long productId, String lang, CachedSummary cached) {
+        boolean aged = System.currentTimeMillis() - cached.writtenAtMillis() > refreshAfter.toMillis();
+        if (cached.stale() || aged) {
+            refreshQueue.submit(productId, lang, cached.limit(), trafficOf(productId));
+        }
+        if (!cached.stale()) {
+            return cached.response();
+        }
+        staleServed.increment();
+        return withStale(cached.response());
+    }
+
+    private void refresh(SummaryRefreshQueue.Task task) {
+        refresh(task, true);
+    }
+
+    /**
+     * FAILED when Groq failed and nothing was stored. With {@code storeFallback} the LOCAL
+     * fallback is stored instead, unless an AI summary of the same version is there.
+     */
+    private RefreshOutcome refresh(SummaryRefreshQueue.Task task, boolean storeFallback) {
+        Long productId = task.productId();
+        String lang = task.lang();
+        long epoch = productEpochs.getOrDefault(productId, 0L);
+        long version = summaryStore.currentVersion(productId);
+
+        // Another node may already have generated this version.
+        ReviewSummaryStore.StoredSummary stored = summaryStore.find(productId, lang).orElse(null);
+        if (stored != null && stored.reviewSetVersion() == version
+                && System.currentTimeMillis() - stored.generatedAtMillis() <= refreshAfter.toMillis()) {
+            putIfCurrent(productId, lang, epoch, new CachedSummary(stored.response(), task.limit(), false, stored.generatedAtMillis()));
+            return RefreshOutcome.SKIPPED;
+        }
+        // Someone else is generating it; a later read of the stale entry will pick up their row.
+        if (!summaryStore.tryClaim(productId, lang)) {
+            return RefreshOutcome.SKIPPED;
+        }
+
+        // Given back on every path that neither saves nor touches the row, so other nodes are not
+        // locked out of this product/lang until the lease runs out.
+        boolean leaseReleased = false;
+        try {
+            List<String> langs = multilingual ? SUPPORTED_LANGS : List.of(lang);
+            Generation generation;
+            try {
+                generation = stored == null ? null : updateIncrementally(productId, stored, version, langs);
+                if (generation == null) {
+                    generation = generate(productId, task.limit(), langs, true);
+                    fullRefreshes.increment();
+                } else {
+                    incrementalRefreshes.increment();
+                }
+            } catch (ResponseStatusException e) {
+                if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
+                    caches.values().forEach(cache -> cache.invalidate(productId));
+                    return RefreshOutcome.SKIPPED;
+                }
+                throw e;
+            }
+            // An empty result is a failed incremental update: nothing to store, the old row stands.
+            if (generation.responses().isEmpty() || (generation.aiFailed() && !storeFallback)) {
+                return RefreshOutcome.FAILED;
+            }
+            ReviewSummaryResponseDTO requested = generation.responses().get(lang);
+            if (requested != null && !"AI".equals(requested.getSource()) && stored != null
+                    && "AI".equals(stored.response().getSource()) && stored.reviewSetVersion() == version) {
+                // Groq failed or the breaker is open: keep the AI summary of this same review set
+                // rather than sharing a LOCAL downgrade with every node, and retry after refreshAfter.
+                summaryStore.touch(productId, lang);
+                leaseReleased = true;
+                putIfCurrent(productId, lang, epoch, new CachedSummary(stored.response(), task.limit(), false, System.currentTimeMillis()));
+                return RefreshOutcome.FAILED;
+            }
+            for (Map.Entry<String, ReviewSummaryResponseDTO> entry : generation.responses().entrySet()) {
+                String l = entry.getKey();
+                ReviewSummaryResponseDTO response = entry.getValue();
+                // The other languages only replace what is there with a real AI summary; their own
+                // queued refreshes then find this version in the store and return early.
+                if (!l.equals(lang) && !"AI".equals(response.getSource())) continue;
+                try {
+                    summaryStore.save(productId, l, version, generation.lastReviewId(), generation.incrementalUpdates(), response);
+                } catch (DataIntegrityViolationException e) {
+                    // Another node stored the first row for this product/lang at the same moment.
+                }
+                leaseReleased |= l.equals(lang);
+                // A change during generation bumped the epoch and queued another refresh; drop this one.
+                putIfCurrent(productId, l, epoch, new CachedSummary(response, task.limit(), false, System.currentTimeMillis()));
+            }
+            return generation.aiFailed() ? RefreshOutcome.FAILED : RefreshOutcome.REFRESHED;
+        } finally {
+            if (!leaseReleased) {
+                summaryStore.release(productId, lang);
+            }
+        }
+    }
+
+    private CompletableFuture<ReviewSummaryResponseDTO> awaitLeader(InFlight leader, Long productId, int limit, String safeLang) {
+        // copy(): our timeout must not complete the leader's own future.
+        return leader.result.copy()
+                .orTimeout(coalesceWaitTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .handleAsync((response, error) -> {
+                    if (error == null) {
+                        coalesceJoined.increment();
+                        return response;
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    if (cause instanceof ResponseStatusException rse) throw rse;
+                    if (cause instanceof TimeoutException) coalesceTimedOut.increment();
+                    return generate(productId, limit, safeLang, false);
+                }, taskExecutor);
+    }
+
+    private ReviewSummaryResponseDTO generate(Long productId, int limit, String safeLang, boolean allowAi) {
+        return generate(productId, limit, List.of(safeLang), allowAi).responses().get(safeLang);
+    }
+
+    /**
+     * Builds the summary in each of {@code langs}. The LOCAL summary comes from the product's
+     * review stats when they exist (no review query at all), otherwise from the latest reviews.
+     * With {@code allowAi} false only the LOCAL summary is produced, which keeps Groq off the
+     * request thread; only the refresher asks for AI, which always reads the latest reviews for
+     * its prompt and gets every requested language from a single call. A language missing from
+     * the AI answer falls back to LOCAL.
+     */
+    private Generation generate(Long productId, int limit, List<String> langs, boolean allowAi) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found with id: " + productId));
 
         Long reviewCount = product.getReviewCount() == null ? 0L : product.getReviewCount();
         Double averageRating = product.getAverageRating() == null ? 0.0 : product.getAverageRating();
+        Map<String, ReviewSummaryResponseDTO> out = new LinkedHashMap<>();
 
-        LocalDateTime latestCreatedAt = reviewRepository.findLatestCreatedAtByProductId(productId);
-        String versionKey = String.valueOf(latestCreatedAt) + "|" + reviewCount;
-        String cacheKey = productId + "|" + safeLang + "|" + versionKey;
-
-        CacheEntry cached = cache.get(cacheKey);
-        if (cached != null && !cached.isExpired()) {
-            return cached.value;
+        ReviewTopicStats stats = reviewStatsService.find(productId).orElse(null);
+        if (stats != null && (!allowAi || !llmClient.isConfigured())) {
+            for (String lang : langs) {
+                ReviewSummaryDTO local = LocalReviewSummarizer.summarize(stats, lang);
+                out.put(lang, toResponse(productId, lang, "LOCAL", averageRating, reviewCount, stats.commentedReviews, local));
+            }
+            return new Generation(out, null, 0, false);
         }
 
         int safeLimit = Math.max(1, Math.min(100, limit));
 
         List<Review> latest = reviewRepository.findLatestByProductId(productId, PageRequest.of(0, safeLimit));
         List<Review> usable = new ArrayList<>();
+        // The newest review the summary has seen; incremental updates continue after it.
+        Long lastReviewId = null;
         for (Review r : latest) {
             if (r == null) continue;
+            if (lastReviewId == null || r.getId() > lastReviewId) lastReviewId = r.getId();
             String c = r.getComment();
             if (c == null) continue;
             if (c.trim().isEmpty()) continue;
@@ -74,81 +434,202 @@ public class GroqReviewSummaryService {
         }
 
         if (usable.isEmpty()) {
-            ReviewSummaryDTO local = buildLocalSummary(product, usable, safeLang);
-            ReviewSummaryResponseDTO response = new ReviewSummaryResponseDTO(
-                    productId,
-                    safeLang,
-                    "LOCAL",
-                    averageRating,
-                    reviewCount,
-                    0L,
-                    local.getTakeaway(),
-                    local.getPros(),
-                    local.getCons(),
-                    local.getTopTopics(),
-                    Instant.now().toString()
-            );
-            cache.put(cacheKey, new CacheEntry(response));
-            return response;
-        }
-
-        ReviewSummaryDTO local = buildLocalSummary(product, usable, safeLang);
-        String apiKey = System.getenv("GROQ_API_KEY");
-        if (apiKey == null || apiKey.trim().isEmpty()) {
-            ReviewSummaryResponseDTO response = new ReviewSummaryResponseDTO(
-                    productId,
-                    safeLang,
-                    "LOCAL",
-                    averageRating,
-                    reviewCount,
-                    (long) usable.size(),
-                    local.getTakeaway(),
-                    local.getPros(),
-                    local.getCons(),
-                    local.getTopTopics(),
-                    Instant.now().toString()
-            );
-            cache.put(cacheKey, new CacheEntry(response));
-            return response;
-        }
-
-        ReviewSummaryDTO ai = null;
+            for (String lang : langs) {
+                ReviewSummaryDTO local = LocalReviewSummarizer.summarize(product.getCategory(), usable, lang);
+                out.put(lang, toResponse(productId, lang, "LOCAL", averageRating, reviewCount, 0L, local));
+            }
+            return new Generation(out, lastReviewId, 0, false);
+        }
+
+        Map<String, ReviewSummaryDTO> ai = Map.of();
+        boolean aiAttempted = allowAi && llmClient.isConfigured();
+        boolean aiFailed = false;
+        if (aiAttempted) {
+            try {
+                String prompt = buildPrompt(product, dedupe(usable), langs);
+                // Only the refresher gets here; its own bounded pool waits, never a servlet thread.
+                ai = callGroqAsync(prompt, langs).join();
+            } catch (Exception ignored) {
+                ai = Map.of();
+            }
+        }
+
+        for (String lang : langs) {
+            ReviewSummaryDTO fromAi = ai.get(lang);
+            if (fromAi != null && fromAi.getTakeaway() != null) {
+                out.put(lang, toResponse(productId, lang, "AI", averageRating, reviewCount, (long) usable.size(), fromAi));
+                continue;
+            }
+            aiFailed |= aiAttempted;
+            ReviewSummaryDTO local = stats != null
+                    ? LocalReviewSummarizer.summarize(stats, lang)
+                    : LocalReviewSummarizer.summarize(product.getCategory(), usable, lang);
+            out.put(lang, toResponse(productId, lang, "LOCAL", averageRating, reviewCount, (long) usable.size(), local));
+        }
+        return new Generation(out, lastReviewId, 0, aiFailed);
+    }
+
+    /**
+     * Brings the stored AI summary up to {@code version} from only the reviews created since it,
+     * or returns null when a full regeneration is due: the stored summary is LOCAL or already
+     * {@code max-updates} increments deep, too many reviews arrived, or the version moved by more
+     * than the new reviews account for, meaning one was edited or deleted. When Groq fails the
+     * result is empty and marked failed rather than null, so the caller does not retry in full.
+     */
+    private Generation updateIncrementally(Long productId, ReviewSummaryStore.StoredSummary stored, long version, List<String> langs) {
+        if (!incremental || !llmClient.isConfigured()) return null;
+        if (!"AI".equals(stored.response().getSource()) || stored.lastReviewId() == null) return null;
+        if (stored.incrementalUpdates() >= maxIncrementalUpdates) return null;
+        long delta = version - stored.reviewSetVersion();
+        if (delta <= 0 || delta > maxIncrementalReviews) return null;
+
+        // Every create, edit and delete bumps the version once, so only creates happened iff
+        // exactly delta reviews exist past the summary's last one.
+        List<Object[]> rows = reviewRepository.findCommentRowsAfter(productId, stored.lastReviewId(), PageRequest.of(0, (int) delta + 1));
+        if (rows.size() != delta) return null;
+
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found with id: " + productId));
+        Long reviewCount = product.getReviewCount() == null ? 0L : product.getReviewCount();
+        Double averageRating = product.getAverageRating() == null ? 0.0 : product.getAverageRating();
+        long lastReviewId = ((Number) rows.get(rows.size() - 1)[0]).longValue();
+        int updates = stored.incrementalUpdates() + 1;
+
+        List<Object[]> usable = new ArrayList<>();
+        for (Object[] row : rows) {
+            String comment = (String) row[1];
+            if (comment != null && !comment.trim().isEmpty()) usable.add(row);
+        }
+        ReviewSummaryResponseDTO previous = stored.response();
+        long previousUsed = previous.getReviewCountUsed() == null ? 0L : previous.getReviewCountUsed();
+        if (usable.isEmpty()) {
+            // Rating-only reviews: the text stands, only the aggregates move. The other languages
+            // carry over from their stored rows when those were written with this one.
+            Map<String, ReviewSummaryResponseDTO> out = new LinkedHashMap<>();
+            for (String lang : langs) {
+                ReviewSummaryResponseDTO text = previous;
+                if (!lang.equals(previous.getLang())) {
+                    ReviewSummaryStore.StoredSummary other = summaryStore.find(productId, lang).orElse(null);
+                    if (other == null || other.reviewSetVersion() != stored.reviewSetVersion()
+                            || !"AI".equals(other.response().getSource())) continue;
+                    text = other.response();
+                }
+                ReviewSummaryDTO same = new ReviewSummaryDTO(text.getTakeaway(), text.getPros(), text.getCons(), text.getTopTopics());
+                out.put(lang, toResponse(productId, lang, "AI", averageRating, reviewCount, previousUsed, same));
+            }
+            return new Generation(out, lastReviewId, updates, false);
+        }
+
+        Map<String, ReviewSummaryDTO> ai;
         try {
-            String prompt = buildPrompt(product, usable, safeLang);
-            ai = callGroq(apiKey, prompt, safeLang);
-        } catch (Exception ignored) {
-            ai = null;
+            List<MinHashDeduplicator.Cluster<Object[]>> clusters = deduplicator == null
+                    ? usable.stream().map(row -> new MinHashDeduplicator.Cluster<>(row, 1)).toList()
+                    : deduplicator.cluster(usable, row -> (String) row[1], row -> ratingBucket((Integer) row[2]));
+            ai = callGroqAsync(buildIncrementalPrompt(product, previous, clusters, langs), langs).join();
+        } catch (Exception e) {
+            // A full regeneration would ask the same provider again; keep the stored summary.
+            return new Generation(Map.of(), null, stored.incrementalUpdates(), true);
         }
+        if (!ai.containsKey(previous.getLang())) return new Generation(Map.of(), null, stored.incrementalUpdates(), true);
 
-        ReviewSummaryDTO result = ai != null && ai.getTakeaway() != null ? clamp(ai) : local;
-        String source = (ai != null && ai.getTakeaway() != null) ? "AI" : "LOCAL";
+        Map<String, ReviewSummaryResponseDTO> out = new LinkedHashMap<>();
+        ai.forEach((lang, summary) -> out.put(lang,
+                toResponse(productId, lang, "AI", averageRating, reviewCount, previousUsed + usable.size(), summary)));
+        return new Generation(out, lastReviewId, updates, false);
+    }
 
-        ReviewSummaryResponseDTO response = new ReviewSummaryResponseDTO(
+    private List<MinHashDeduplicator.Cluster<Review>> dedupe(List<Review> reviews) {
+        if (deduplicator == null) {
+            return reviews.stream().map(r -> new MinHashDeduplicator.Cluster<>(r, 1)).toList();
+        }
+        List<MinHashDeduplicator.Cluster<Review>> clusters =
+                deduplicator.cluster(reviews, Review::getComment, r -> ratingBucket(r.getRating()));
+        dedupeReduction.record(1.0 - (double) clusters.size() / reviews.size());
+        return clusters;
+    }
+
+    // "Great battery" at 5 stars and at 2 stars are different opinions: never fold them together.
+    private static int ratingBucket(Integer rating) {
+        if (rating == null) return 0;
+        return rating <= 2 ? 1 : rating == 3 ? 2 : 3;
+    }
+
+    private static ReviewSummaryResponseDTO toResponse(Long productId, String lang, String source, Double averageRating,
+                                                       Long reviewCount, Long reviewCountUsed, ReviewSummaryDTO summary) {
+        return new ReviewSummaryResponseDTO(
                 productId,
-                safeLang,
+                lang,
                 source,
                 averageRating,
                 reviewCount,
-                (long) usable.size(),
-                result.getTakeaway(),
-                result.getPros(),
-                result.getCons(),
-                result.getTopTopics(),
-                Instant.now().toString()
+                reviewCountUsed,
+                summary.getTakeaway(),
+                summary.getPros(),
+                summary.getCons(),
+                summary.getTopTopics(),
+                Instant.now().toString(),
+                false
+        );
+    }
+
+    private void putIfCurrent(Long productId, String lang, long epoch, CachedSummary summary) {
+        if (productEpochs.getOrDefault(productId, 0L) != epoch) return;
+        Cache<Long, CachedSummary> cache = caches.get(lang);
+        cache.put(productId, summary);
+        // An event may have landed between the check and the put.
+        if (productEpochs.getOrDefault(productId, 0L) != epoch) {
+            cache.asMap().computeIfPresent(productId, (id, current) -> current == summary ? summary.markStale() : current);
+        }
+    }
+
+    private long trafficOf(Long productId) {
+        LongAdder counter = traffic.get(productId);
+        return counter == null ? 0L : counter.sum();
+    }
+
+    private boolean isAiConfigured() {
+        return llmClient.isConfigured();
+    }
+
+    private static ReviewSummaryResponseDTO withStale(ReviewSummaryResponseDTO r) {
+        return new ReviewSummaryResponseDTO(
+                r.getProductId(),
+                r.getLang(),
+                r.getSource(),
+                r.getAverageRating(),
+                r.getReviewCount(),
+                r.getReviewCountUsed(),
+                r.getTakeaway(),
+                r.getPros(),
+                r.getCons(),
+                r.getTopTopics(),
+                r.getGeneratedAt(),
+                true
         );
+    }
 
-        cache.put(cacheKey, new CacheEntry(response));
-        return response;
+    // Rough retained size: two bytes per char of the text fields plus fixed object overhead.
+    private static int estimateBytes(ReviewSummaryResponseDTO summary) {
+        long chars = length(summary.getTakeaway());
+        for (List<String> list : Arrays.asList(summary.getPros(), summary.getCons(), summary.getTopTopics())) {
+            if (list == null) continue;
+            for (String item : list) chars += length(item) + 16;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, 256 + chars * 2);
     }
 
-    private String buildPrompt(Product product, List<Review> reviews, String lang) {
+    private static int length(String s) {
+        return s == null ? 0 : s.length();
+    }
+
+    private String buildPrompt(Product product, List<MinHashDeduplicator.Cluster<Review>> reviews, List<String> langs) {
         StringBuilder sb = new StringBuilder();
         sb.append("You summarize product reviews in a conservative, e-commerce style. ");
-        sb.append("Return STRICT JSON ONLY with keys: takeaway (string), pros (array of strings), cons (array of strings), topTopics (array of strings). ");
+        sb.append(outputFormat(langs)).append(" ");
         sb.append("Use neutral language (no marketing). Avoid absolute claims. Avoid emojis. ");
         sb.append("Do not mention AI/models. Preserve brand/model terms. ");
         sb.append("Max 3 pros/cons, max 5 topics. No markdown, no code fences, no extra text. ");
-        sb.append("Output language: ").append(lang).append(".\n\n");
+        sb.append(outputLanguages(langs)).append("\n\n");
 
         // Category-specific topic guidance
         String category = product.getCategory() != null ? product.getCategory().toLowerCase() : "";
@@ -179,9 +660,13 @@ public class GroqReviewSummaryService {
         sb.append("averageRating: ").append(product.getAverageRating()).append("\n");
         sb.append("reviewCount: ").append(product.getReviewCount()).append("\n\n");
 
-        sb.append("Latest reviews (rating + comment):\n");
-        for (Review r : reviews) {
+        sb.append("Latest reviews (rating + comment; similar = how many near-identical reviews it stands for):\n");
+        for (MinHashDeduplicator.Cluster<Review> cluster : reviews) {
+            Review r = cluster.representative();
             sb.append("- rating: ").append(r.getRating()).append("\n");
+            if (cluster.count() > 1) {
+                sb.append("  similar: ").append(cluster.count()).append("\n");
+            }
             sb.append("  comment: ").append(sanitize(r.getComment())).append("\n");
         }
 
@@ -190,79 +675,123 @@ public class GroqReviewSummaryService {
         sb.append("- Extract up to 3 pros and 3 cons as short phrases.\n");
         sb.append("- Extract up to 5 topics relevant to the product category.\n");
         sb.append("- Only include topics actually mentioned in reviews.\n");
+        sb.append("- Weigh a review by its similar count when judging how common a point is.\n");
         sb.append("- Use conservative, factual language.\n");
 
         return sb.toString();
     }
 
-    private ReviewSummaryDTO callGroq(String apiKey, String prompt, String lang) {
-        try {
-            String model = System.getenv("GROQ_MODEL");
-            if (model == null || model.trim().isEmpty()) {
-                model = "llama-3.3-70b-versatile";
-            }
+    private String buildIncrementalPrompt(Product product, ReviewSummaryResponseDTO previous,
+                                          List<MinHashDeduplicator.Cluster<Object[]>> reviews, List<String> langs) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("You maintain a summary of product reviews in a conservative, e-commerce style. ");
+        sb.append(outputFormat(langs)).append(" ");
+        sb.append("Use neutral language (no marketing). Avoid absolute claims. Avoid emojis. ");
+        sb.append("Do not mention AI/models. Preserve brand/model terms. ");
+        sb.append("Max 3 pros/cons, max 5 topics. No markdown, no code fences, no extra text. ");
+        sb.append(outputLanguages(langs)).append("\n\n");
 
-            Map<String, Object> req = new HashMap<>();
-            req.put("model", model);
-            req.put("temperature", 0.2);
-            req.put("messages", List.of(
-                    Map.of(
-                            "role", "system",
-                            "content", "Return STRICT JSON ONLY with keys: takeaway (string), pros (array of strings), cons (array of strings), topTopics (array of strings). Neutral language only; no marketing; no absolute claims; no emojis; do not mention AI. Max 3 pros/cons, max 5 topics. Output language: " + lang + "."
-                    ),
-                    Map.of(
-                            "role", "user",
-                            "content", prompt
-                    )
-            ));
-
-            String body = objectMapper.writeValueAsString(req);
-
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(java.net.URI.create("https://api.groq.com/openai/v1/chat/completions"))
-                    .timeout(REQUEST_TIMEOUT)
-                    .header("Content-Type", "application/json")
-                    .header("Authorization", "Bearer " + apiKey)
-                    .POST(HttpRequest.BodyPublishers.ofString(body))
-                    .build();
+        sb.append("Product:\n");
+        sb.append("name: ").append(product.getName()).append("\n");
+        sb.append("category: ").append(product.getCategory()).append("\n");
+        sb.append("averageRating: ").append(product.getAverageRating()).append("\n");
+        sb.append("reviewCount: ").append(product.getReviewCount()).append("\n\n");
 
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() < 200 || response.statusCode() >= 300) {
-                String snippet = safeSnippet(response.body());
-                throw new ResponseStatusException(
-                        HttpStatus.BAD_GATEWAY,
-                        "Groq call failed with status " + response.statusCode() + (snippet.isEmpty() ? "" : (": " + snippet))
-                );
+        sb.append("Current summary (language: ").append(previous.getLang()).append(", based on ")
+                .append(previous.getReviewCountUsed()).append(" earlier reviews):\n");
+        sb.append("takeaway: ").append(sanitize(previous.getTakeaway())).append("\n");
+        sb.append("pros: ").append(joinSanitized(previous.getPros())).append("\n");
+        sb.append("cons: ").append(joinSanitized(previous.getCons())).append("\n");
+        sb.append("topTopics: ").append(joinSanitized(previous.getTopTopics())).append("\n\n");
+
+        sb.append("New reviews since then (rating + comment; similar = how many near-identical reviews it stands for):\n");
+        for (MinHashDeduplicator.Cluster<Object[]> cluster : reviews) {
+            Object[] row = cluster.representative();
+            sb.append("- rating: ").append(row[2]).append("\n");
+            if (cluster.count() > 1) {
+                sb.append("  similar: ").append(cluster.count()).append("\n");
             }
+            sb.append("  comment: ").append(sanitize((String) row[1])).append("\n");
+        }
 
-            JsonNode root = objectMapper.readTree(response.body());
-            JsonNode contentNode = root
-                    .path("choices")
-                    .path(0)
-                    .path("message")
-                    .path("content");
+        sb.append("\nGuidelines:\n");
+        sb.append("- Update the current summary so it reflects the earlier and the new reviews together.\n");
+        sb.append("- Keep points the new reviews do not contradict; the earlier reviews still count.\n");
+        sb.append("- Add a pro, con or topic only if the new reviews raise it; drop the weakest to stay within limits.\n");
+        sb.append("- Write 1 neutral takeaway sentence.\n");
+        sb.append("- Use conservative, factual language.\n");
 
-            if (contentNode.isMissingNode() || contentNode.asText().trim().isEmpty()) {
-                throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Groq returned empty response");
-            }
+        return sb.toString();
+    }
+
+    private String joinSanitized(List<String> items) {
+        if (items == null || items.isEmpty()) return "(none)";
+        List<String> out = new ArrayList<>(items.size());
+        for (String item : items) out.add(sanitize(item));
+        return String.join("; ", out);
+    }
+
+    private static String outputFormat(List<String> langs) {
+        if (langs.size() == 1) {
+            return "Return STRICT JSON ONLY with keys: " + SUMMARY_KEYS + ".";
+        }
+        return "Return STRICT JSON ONLY: one object with a key per language code (" + String.join(", ", langs)
+                + "), each holding an object with keys: " + SUMMARY_KEYS
+                + ". All languages must say the same thing; write it once and translate it.";
+    }
 
-            String raw = contentNode.asText();
+    private static String outputLanguages(List<String> langs) {
+        return langs.size() == 1
+                ? "Output language: " + langs.get(0) + "."
+                : "Output languages: " + String.join(", ", langs) + ".";
+    }
+
+    private CompletableFuture<Map<String, ReviewSummaryDTO>> callGroqAsync(String prompt, List<String> langs) {
+        LlmRequest request = new LlmRequest(
+                outputFormat(langs) + " Neutral language only; no marketing; no absolute claims; no emojis; do not mention AI. Max 3 pros/cons, max 5 topics. " + outputLanguages(langs),
+                prompt,
+                0.2
+        );
+        // Parsing runs on the HttpClient executor; the caller decides whether to wait.
+        return llmClient.complete(request).thenApply(raw -> parseGroqSummaries(raw, langs));
+    }
+
+    /** One summary per language that came back with a takeaway; fails only if none did. */
+    private Map<String, ReviewSummaryDTO> parseGroqSummaries(String raw, List<String> langs) {
+        try {
             String json = extractJsonObject(raw);
             JsonNode parsed = objectMapper.readTree(json);
+            if (langs.size() == 1) {
+                return Map.of(langs.get(0), parseGroqSummary(parsed));
+            }
 
-            String takeaway = parsed.path("takeaway").asText(null);
-            List<String> pros = asStringList(parsed.path("pros"));
-            List<String> cons = asStringList(parsed.path("cons"));
-            List<String> topTopics = asStringList(parsed.path("topTopics"));
-            if (takeaway == null) {
+            Map<String, ReviewSummaryDTO> out = new HashMap<>();
+            for (String lang : langs) {
+                JsonNode node = parsed.path(lang);
+                if (node.isObject() && node.hasNonNull("takeaway")) {
+                    out.put(lang, parseGroqSummary(node));
+                }
+            }
+            if (out.isEmpty()) {
                 throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Groq response missing takeaway");
             }
-            return clamp(new ReviewSummaryDTO(takeaway, pros, cons, topTopics));
+            return out;
         } catch (ResponseStatusException e) {
             throw e;
         } catch (Exception e) {
-            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Groq call failed");
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Groq response was not valid JSON");
+        }
+    }
+
+    private ReviewSummaryDTO parseGroqSummary(JsonNode parsed) {
+        String takeaway = parsed.path("takeaway").asText(null);
+        List<String> pros = asStringList(parsed.path("pros"));
+        List<String> cons = asStringList(parsed.path("cons"));
+        List<String> topTopics = asStringList(parsed.path("topTopics"));
+        if (takeaway == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Groq response missing takeaway");
         }
+        return clamp(new ReviewSummaryDTO(takeaway, pros, cons, topTopics));
     }
 
     private ReviewSummaryDTO clamp(ReviewSummaryDTO in) {
@@ -306,160 +835,6 @@ public class GroqReviewSummaryService {
         return "en";
     }
 
-    private ReviewSummaryDTO buildLocalSummary(Product product, List<Review> reviews, String lang) {
-        List<Review> usable = reviews == null ? List.of() : reviews;
-        Map<String, Integer> topicCounts = new LinkedHashMap<>();
-        for (String k : topicLabels().keySet()) {
-            topicCounts.put(k, 0);
-        }
-
-        List<String> pros = new ArrayList<>();
-        List<String> cons = new ArrayList<>();
-        int used = 0;
-
-        for (Review r : usable) {
-            if (r == null) continue;
-            String comment = r.getComment();
-            if (comment == null) continue;
-            String text = comment.toLowerCase();
-            used++;
-
-            String snippet = firstSentence(comment);
-
-            if (r.getRating() != null && r.getRating() >= 4 && pros.size() < 3) {
-                if (snippet != null && !pros.contains(snippet)) pros.add(snippet);
-            }
-            if (r.getRating() != null && r.getRating() <= 2 && cons.size() < 3) {
-                if (snippet != null && !cons.contains(snippet)) cons.add(snippet);
-            }
-
-            for (Map.Entry<String, List<String>> e : topicKeywords(product.getCategory()).entrySet()) {
-                String topicKey = e.getKey();
-                for (String kw : e.getValue()) {
-                    if (kw == null || kw.isEmpty()) continue;
-                    if (text.contains(kw)) {
-                        topicCounts.put(topicKey, (topicCounts.getOrDefault(topicKey, 0) + 1));
-                        break;
-                    }
-                }
-            }
-        }
-
-        List<String> topTopics = new ArrayList<>();
-        topicCounts.entrySet().stream()
-                .sorted((a, b) -> Integer.compare(b.getValue(), a.getValue()))
-                .filter(e -> e.getValue() > 0)
-                .limit(5)
-                .forEach(e -> topTopics.add(topicLabel(lang, e.getKey())));
-
-        String posTopic = topTopics.size() > 0 ? topTopics.get(0) : null;
-        String negTopic = topTopics.size() > 1 ? topTopics.get(1) : null;
-
-        String takeaway = buildLocalTakeaway(lang, posTopic, negTopic);
-        if (takeaway == null) takeaway = defaultNoInsight(lang);
-
-        return new ReviewSummaryDTO(takeaway, clampList(pros, 3), clampList(cons, 3), clampList(topTopics, 5));
-    }
-
-    private String firstSentence(String text) {
-        if (text == null) return null;
-        String t = text.replace("\r", " ").replace("\n", " ").trim();
-        if (t.isEmpty()) return null;
-        String[] parts = t.split("[.!?]");
-        String s = parts.length > 0 ? parts[0].trim() : t;
-        if (s.length() > 90) s = s.substring(0, 90) + "…";
-        return s.isEmpty() ? null : s;
-    }
-
-    private String buildLocalTakeaway(String lang, String pos, String neg) {
-        if (pos == null && neg == null) return defaultNoInsight(lang);
-        if (pos != null && neg != null) {
-            if ("tr".equals(lang)) return "Kullanıcıların çoğu " + pos + " konusunu olumlu belirtirken, " + neg + " sıkça eleştiriliyor.";
-            if ("es".equals(lang)) return "La mayoría destaca " + pos + " de forma positiva, mientras que " + neg + " es una queja frecuente.";
-            return "Most users mention " + pos + " positively, while " + neg + " is a common complaint.";
-        }
-        if (pos != null) {
-            if ("tr".equals(lang)) return "Kullanıcıların çoğu " + pos + " konusunu olumlu belirtiyor.";
-            if ("es".equals(lang)) return "La mayoría menciona " + pos + " de forma positiva.";
-            return "Most users mention " + pos + " positively.";
-        }
-        if ("tr".equals(lang)) return neg + " konusu sıkça eleştiriliyor.";
-        if ("es".equals(lang)) return neg + " es una queja frecuente.";
-        return neg + " is a common complaint.";
-    }
-
-    private String defaultNoInsight(String lang) {
-        if ("tr".equals(lang)) return "Yorumlar farklı deneyimler içeriyor.";
-        if ("es".equals(lang)) return "Las reseñas muestran experiencias variadas.";
-        return "Reviews mention mixed experiences.";
-    }
-
-    private Map<String, Map<String, String>> topicLabels() {
-        Map<String, Map<String, String>> labels = new LinkedHashMap<>();
-        labels.put("battery", Map.of("en", "Battery", "tr", "Batarya", "es", "Batería"));
-        labels.put("performance", Map.of("en", "Performance", "tr", "Performans", "es", "Rendimiento"));
-        labels.put("price", Map.of("en", "Price", "tr", "Fiyat", "es", "Precio"));
-        labels.put("build", Map.of("en", "Build quality", "tr", "Malzeme kalitesi", "es", "Calidad de construcción"));
-        labels.put("camera", Map.of("en", "Camera", "tr", "Kamera", "es", "Cámara"));
-        labels.put("delivery", Map.of("en", "Delivery", "tr", "Kargo", "es", "Envío"));
-        labels.put("packaging", Map.of("en", "Packaging", "tr", "Paketleme", "es", "Embalaje"));
-        labels.put("comfort", Map.of("en", "Comfort", "tr", "Konfor", "es", "Comodidad"));
-        labels.put("usability", Map.of("en", "Usability", "tr", "Kullanım", "es", "Usabilidad"));
-        return labels;
-    }
-
-    private String topicLabel(String lang, String topicKey) {
-        Map<String, String> m = topicLabels().get(topicKey);
-        if (m == null) return topicKey;
-        return m.getOrDefault(lang, m.get("en"));
-    }
-
-    private Map<String, List<String>> topicKeywords(String category) {
-        String c = category == null ? "" : category.toLowerCase();
-        Map<String, List<String>> kws = new LinkedHashMap<>();
-        if (c.contains("electronics")) {
-            kws.put("battery", List.of("battery", "batarya", "pil", "charge", "şarj", "bateria", "carga"));
-            kws.put("performance", List.of("performance", "speed", "fast", "performans", "hız", "rapido", "rendimiento"));
-            kws.put("camera", List.of("camera", "kamera", "cámara", "photo", "foto"));
-            kws.put("build", List.of("build", "quality", "malzeme", "kalite", "construction", "construcción"));
-            kws.put("price", List.of("price", "fiyat", "precio", "expensive", "pahalı", "caro"));
-            kws.put("delivery", List.of("delivery", "shipping", "kargo", "envío"));
-            kws.put("packaging", List.of("package", "packaging", "paket", "embalaje"));
-            kws.put("usability", List.of("usability", "easy", "kullanım", "kolay", "usabilidad"));
-            return kws;
-        }
-        if (c.contains("clothing")) {
-            kws.put("comfort", List.of("comfortable", "comfort", "konfor", "rahat", "comodidad"));
-            kws.put("build", List.of("fabric", "quality", "kumaş", "kalite", "tela", "calidad"));
-            kws.put("price", List.of("price", "fiyat", "precio", "expensive", "pahalı", "caro"));
-            kws.put("delivery", List.of("delivery", "shipping", "kargo", "envío"));
-            kws.put("packaging", List.of("package", "packaging", "paket", "embalaje"));
-            kws.put("usability", List.of("fit", "size", "beden", "uyum", "talla", "ajuste"));
-            return kws;
-        }
-        if (c.contains("books")) {
-            kws.put("usability", List.of("translation", "çeviri", "traducción", "writing", "yazım", "prose", "estilo"));
-            kws.put("build", List.of("cover", "kapak", "paper", "kağıt", "portada", "papel"));
-            kws.put("price", List.of("price", "fiyat", "precio", "expensive", "pahalı", "caro"));
-            kws.put("delivery", List.of("delivery", "shipping", "kargo", "envío"));
-            kws.put("packaging", List.of("package", "packaging", "paket", "embalaje"));
-            return kws;
-        }
-        kws.put("build", List.of("quality", "kalite", "calidad", "material", "malzeme"));
-        kws.put("price", List.of("price", "fiyat", "precio", "expensive", "pahalı", "caro"));
-        kws.put("delivery", List.of("delivery", "shipping", "kargo", "envío"));
-        kws.put("packaging", List.of("package", "packaging", "paket", "embalaje"));
-        kws.put("usability", List.of("easy", "kolay", "usabilidad", "usable"));
-        return kws;
-    }
-
-    private String safeSnippet(String body) {
-        if (body == null) return "";
-        String t = body.replace("\r", " ").replace("\n", " ").trim();
-        if (t.isEmpty()) return "";
-        return t.length() > 500 ? t.substring(0, 500) : t;
-    }
-
     private List<String> asStringList(JsonNode node) {
         List<String> out = new ArrayList<>();
         if (node == null || !node.isArray()) return out;
@@ -493,17 +868,25 @@ public class GroqReviewSummaryService {
         return t;
     }
 
-    private static final class CacheEntry {
-        private final ReviewSummaryResponseDTO value;
-        private final Instant createdAt;
-
-        private CacheEntry(ReviewSummaryResponseDTO value) {
-            this.value = value;
-            this.createdAt = Instant.now();
+    private record CachedSummary(ReviewSummaryResponseDTO response, int limit, boolean stale, long writtenAtMillis) {
+        CachedSummary markStale() {
+            return stale ? this : new CachedSummary(response, limit, true, writtenAtMillis);
         }
+    }
 
-        private boolean isExpired() {
-            return Instant.now().isAfter(createdAt.plus(CACHE_TTL));
-        }
+    /** What a refresh did: stored a new summary, found nothing to do (current row, another node's lease, product gone), or failed. */
+    enum RefreshOutcome {
+        REFRESHED,
+        SKIPPED,
+        FAILED
+    }
+
+    // aiFailed: Groq was asked but some language fell back to LOCAL.
+    private record Generation(Map<String, ReviewSummaryResponseDTO> responses, Long lastReviewId, int incrementalUpdates,
+                              boolean aiFailed) {
+    }
+
+    private static final class InFlight {
+        private final CompletableFuture<ReviewSummaryResponseDTO> result = new CompletableFuture<>();
     }
 }
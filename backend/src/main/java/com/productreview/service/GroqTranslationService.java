@@ -3,60 +3,51 @@ package com.productreview.service;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.productreview.dto.TranslateResponseDTO;
+import com.productreview.llm.LlmClient;
+import com.productreview.llm.LlmRequest;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.security.MessageDigest;
-import java.time.Duration;
-import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Base64;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
 
 @Service
+@RequiredArgsConstructor
 public class GroqTranslationService {
 
-    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
-    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(8);
-    private static final Duration CACHE_TTL = Duration.ofMinutes(30);
-
     private static final int MAX_TEXTS = 30;
     private static final int MAX_TOTAL_CHARS = 10_000;
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
-    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(CONNECT_TIMEOUT).build();
+    private final LlmClient llmClient;
+    private final TranslationMemory translationMemory;
 
-    private final Map<String, CacheEntry> cache = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
-    public TranslateResponseDTO translateBatch(List<String> texts, String lang) {
+    public CompletableFuture<TranslateResponseDTO> translateBatch(List<String> texts, String lang) {
         String safeLang = normalizeLang(lang);
         List<String> safeTexts = normalizeTexts(texts);
 
         if (safeTexts.isEmpty()) {
-            return new TranslateResponseDTO(safeLang, "LOCAL", List.of());
+            return CompletableFuture.completedFuture(new TranslateResponseDTO(safeLang, "LOCAL", List.of()));
         }
 
         // If target language is English, just return original texts.
         if (Objects.equals(safeLang, "en")) {
-            return new TranslateResponseDTO(safeLang, "LOCAL", safeTexts);
+            return CompletableFuture.completedFuture(new TranslateResponseDTO(safeLang, "LOCAL", safeTexts));
         }
 
-        String apiKey = System.getenv("GROQ_API_KEY");
-        if (apiKey == null || apiKey.trim().isEmpty()) {
-            return new TranslateResponseDTO(safeLang, "LOCAL", safeTexts);
+        if (!llmClient.isConfigured()) {
+            return CompletableFuture.completedFuture(new TranslateResponseDTO(safeLang, "LOCAL", safeTexts));
         }
 
-        // Cache per text
+        // Translation memory per text
         List<String> out = new ArrayList<>(safeTexts.size());
         List<Integer> missIdx = new ArrayList<>();
         List<String> misses = new ArrayList<>();
@@ -64,9 +55,9 @@ public class GroqTranslationService {
         for (int i = 0; i < safeTexts.size(); i++) {
             String s = safeTexts.get(i);
             String key = cacheKey(safeLang, s);
-            CacheEntry cached = cache.get(key);
-            if (cached != null && !cached.isExpired()) {
-                out.add(cached.value);
+            String remembered = translationMemory.get(key);
+            if (remembered != null) {
+                out.add(remembered);
             } else {
                 out.add(null);
                 missIdx.add(i);
@@ -75,95 +66,62 @@ public class GroqTranslationService {
         }
 
         if (misses.isEmpty()) {
-            return new TranslateResponseDTO(safeLang, "AI", out);
+            return CompletableFuture.completedFuture(new TranslateResponseDTO(safeLang, "AI", out));
         }
 
-        List<String> translatedMisses;
-        try {
-            translatedMisses = callGroqTranslate(apiKey, misses, safeLang);
-        } catch (Exception e) {
-            // Fallback: fill misses with original
-            for (int k = 0; k < missIdx.size(); k++) {
-                out.set(missIdx.get(k), misses.get(k));
+        return callGroqTranslate(misses, safeLang).handle((translatedMisses, error) -> {
+            // Fallback: fill misses with original on failure or length mismatch
+            if (error != null || translatedMisses == null || translatedMisses.size() != misses.size()) {
+                for (int k = 0; k < missIdx.size(); k++) {
+                    out.set(missIdx.get(k), misses.get(k));
+                }
+                return new TranslateResponseDTO(safeLang, "LOCAL", out);
             }
-            return new TranslateResponseDTO(safeLang, "LOCAL", out);
-        }
 
-        // Align lengths; if mismatch fallback to originals
-        if (translatedMisses == null || translatedMisses.size() != misses.size()) {
             for (int k = 0; k < missIdx.size(); k++) {
-                out.set(missIdx.get(k), misses.get(k));
+                int idx = missIdx.get(k);
+                String translated = safeText(translatedMisses.get(k));
+                if (translated == null) {
+                    // Blank element: show the original, but do not remember it as the translation.
+                    out.set(idx, misses.get(k));
+                    continue;
+                }
+                out.set(idx, translated);
+                translationMemory.put(cacheKey(safeLang, misses.get(k)), translated);
             }
-            return new TranslateResponseDTO(safeLang, "LOCAL", out);
-        }
 
-        for (int k = 0; k < missIdx.size(); k++) {
-            int idx = missIdx.get(k);
-            String translated = safeText(translatedMisses.get(k));
-            if (translated == null) translated = misses.get(k);
-            out.set(idx, translated);
-            cache.put(cacheKey(safeLang, misses.get(k)), new CacheEntry(translated));
-        }
-
-        return new TranslateResponseDTO(safeLang, "AI", out);
+            return new TranslateResponseDTO(safeLang, "AI", out);
+        });
     }
 
-    private List<String> callGroqTranslate(String apiKey, List<String> texts, String lang) throws Exception {
-        String model = System.getenv("GROQ_MODEL");
-        if (model == null || model.trim().isEmpty()) {
-            model = "llama-3.3-70b-versatile";
-        }
-
-        String prompt = buildPrompt(texts, lang);
-
-        Map<String, Object> req = new HashMap<>();
-        req.put("model", model);
-        req.put("temperature", 0.1);
-        req.put("messages", List.of(
-                Map.of(
-                        "role", "system",
-                        "content", "You translate text for an e-commerce app. Return STRICT JSON ONLY with key: translations (array of strings). Preserve brand/model terms. Do not add commentary. No markdown. Output language: " + lang + "."
-                ),
-                Map.of(
-                        "role", "user",
-                        "content", prompt
-                )
-        ));
-
-        String body = objectMapper.writeValueAsString(req);
-
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create("https://api.groq.com/openai/v1/chat/completions"))
-                .timeout(REQUEST_TIMEOUT)
-                .header("Content-Type", "application/json")
-                .header("Authorization", "Bearer " + apiKey)
-                .POST(HttpRequest.BodyPublishers.ofString(body))
-                .build();
-
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-        if (response.statusCode() < 200 || response.statusCode() >= 300) {
-            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Groq translate failed with status " + response.statusCode());
-        }
-
-        JsonNode root = objectMapper.readTree(response.body());
-        JsonNode contentNode = root.path("choices").path(0).path("message").path("content");
-        if (contentNode.isMissingNode() || contentNode.asText().trim().isEmpty()) {
-            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Groq returned empty response");
-        }
+    private CompletableFuture<List<String>> callGroqTranslate(List<String> texts, String lang) {
+        LlmRequest request = new LlmRequest(
+                "You translate text for an e-commerce app. Return STRICT JSON ONLY with key: translations (array of strings). Preserve brand/model terms. Do not add commentary. No markdown. Output language: " + lang + ".",
+                buildPrompt(texts, lang),
+                0.1
+        );
+        return llmClient.complete(request).thenApply(this::parseTranslations);
+    }
 
-        String raw = contentNode.asText();
-        String json = extractJsonObject(raw);
-        JsonNode parsed = objectMapper.readTree(json);
-        JsonNode arr = parsed.path("translations");
-        if (!arr.isArray()) {
-            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Groq response missing translations");
-        }
+    private List<String> parseTranslations(String raw) {
+        try {
+            String json = extractJsonObject(raw);
+            JsonNode parsed = objectMapper.readTree(json);
+            JsonNode arr = parsed.path("translations");
+            if (!arr.isArray()) {
+                throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Groq response missing translations");
+            }
 
-        List<String> out = new ArrayList<>();
-        for (JsonNode n : arr) {
-            out.add(n.asText(""));
+            List<String> out = new ArrayList<>();
+            for (JsonNode n : arr) {
+                out.add(n.asText(""));
+            }
+            return out;
+        } catch (ResponseStatusException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Groq response was not valid JSON");
         }
-        return out;
     }
 
     private String buildPrompt(List<String> texts, String lang) {
@@ -244,18 +202,4 @@ public class GroqTranslationService {
             return String.valueOf(Objects.hash(text));
         }
     }
-
-    private static final class CacheEntry {
-        private final String value;
-        private final Instant createdAt;
-
-        private CacheEntry(String value) {
-            this.value = value;
-            this.createdAt = Instant.now();
-        }
-
-        private boolean isExpired() {
-            return Instant.now().isAfter(createdAt.plus(CACHE_TTL));
-        }
-    }
 }
@@ -0,0 +1,165 @@
+package com.productreview.service;
+
+import com.productreview.event.ChangeType;
+import com.productreview.repository.ReviewRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Optional write-behind buffer for {@code reviews.helpful_count}. Vote membership is still written
+ * synchronously; only the counter deltas are accumulated in striped {@link LongAdder}s and flushed
+ * in one batched transaction every {@code flush-interval-ms}, so a viral review stops serialising
+ * every voter on its row lock.
+ */
+@Component
+public class HelpfulCountBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(HelpfulCountBuffer.class);
+
+    private static final String FLUSH_SQL = "UPDATE reviews SET helpful_count = GREATEST(helpful_count + ?, 0) WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ReviewRepository reviewRepository;
+    private final OutboxService outboxService;
+    private final boolean enabled;
+
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    // Adders evicted for being idle; kept for one more round so a writer that grabbed the
+    // reference just before eviction still gets its delta flushed.
+    private final Map<Long, LongAdder> retired = new ConcurrentHashMap<>();
+    // Deltas taken out of the adders but not yet committed, so readers never see them vanish:
+    // published before an adder gives a delta up, removed once the flush commits.
+    private final Map<Long, Long> inFlight = new ConcurrentHashMap<>();
+
+    public HelpfulCountBuffer(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ReviewRepository reviewRepository,
+            OutboxService outboxService,
+            @Value("${app.helpful-votes.buffered-counts.enabled:false}") boolean enabled
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reviewRepository = reviewRepository;
+        this.outboxService = outboxService;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records a delta once the surrounding transaction commits, so a rolled back vote never
+     * leaks into the counter.
+     */
+    public void addAfterCommit(Long reviewId, long delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(reviewId, delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(reviewId, delta);
+            }
+        });
+    }
+
+    public long pendingDelta(Long reviewId) {
+        if (!enabled || reviewId == null) return 0L;
+        long delta = 0L;
+        LongAdder live = pending.get(reviewId);
+        if (live != null) delta += live.sum();
+        LongAdder old = retired.get(reviewId);
+        if (old != null) delta += old.sum();
+        Long flushing = inFlight.get(reviewId);
+        if (flushing != null) delta += flushing;
+        return delta;
+    }
+
+    @Scheduled(fixedDelayString = "${app.helpful-votes.buffered-counts.flush-interval-ms:500}")
+    public synchronized void flush() {
+        if (!enabled) return;
+
+        // Sorted so concurrent flushers on other nodes lock rows in the same order.
+        Map<Long, Long> batch = new TreeMap<>();
+        retired.forEach((reviewId, adder) -> {
+            // Unlinked before the drain, so an add made through a stale reference up to then is flushed.
+            if (retired.remove(reviewId, adder)) drainInto(batch, reviewId, adder);
+        });
+
+        pending.forEach((reviewId, adder) -> {
+            if (!drainInto(batch, reviewId, adder) && pending.remove(reviewId, adder)) {
+                retired.put(reviewId, adder);
+            }
+        });
+
+        if (batch.isEmpty()) return;
+
+        List<Object[]> args = new ArrayList<>(batch.size());
+        batch.forEach((reviewId, delta) -> args.add(new Object[]{delta, reviewId}));
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(FLUSH_SQL, args);
+                publishFlushedCounts(batch.keySet());
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        // The committed helpful_count now includes these deltas.
+                        batch.keySet().forEach(inFlight::remove);
+                    }
+                });
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush {} buffered helpful counts, will retry", batch.size(), e);
+            // Back into the adders before leaving inFlight: counted twice for a moment, never missing.
+            batch.forEach(this::add);
+            batch.keySet().forEach(inFlight::remove);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // One event per review per flush, carrying the committed absolute count.
+    private void publishFlushedCounts(Collection<Long> reviewIds) {
+        for (Object[] row : reviewRepository.findHelpfulCountsByIds(reviewIds)) {
+            outboxService.record(ChangeType.HELPFUL_COUNT_CHANGED, (Long) row[1], (Long) row[0], Map.of("helpfulCount", row[2]));
+        }
+    }
+
+    private void add(Long reviewId, long delta) {
+        pending.computeIfAbsent(reviewId, id -> new LongAdder()).add(delta);
+    }
+
+    private boolean drainInto(Map<Long, Long> batch, Long reviewId, LongAdder adder) {
+        long delta = adder.sum();
+        if (delta == 0L) return false;
+        inFlight.merge(reviewId, delta, Long::sum);
+        // Subtract exactly what we took: increments racing with the flush stay in the adder.
+        adder.add(-delta);
+        batch.merge(reviewId, delta, Long::sum);
+        return true;
+    }
+}
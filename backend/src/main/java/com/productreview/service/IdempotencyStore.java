@@ -0,0 +1,81 @@
+package com.productreview.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bounded, TTL-evicted map of idempotency key to the (possibly still running) response.
+ * Entries are kept in insertion order, so both the size cap and expiry drop the oldest first.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    private final Map<String, Entry> entries;
+
+    public IdempotencyStore(
+            @Value("${app.idempotency.max-entries:10000}") int maxEntries,
+            @Value("${app.idempotency.ttl:10m}") Duration ttl
+    ) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlMillis = ttl.toMillis();
+        this.entries = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > IdempotencyStore.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the entry already registered for {@code key}, or registers and returns a new one
+     * owned by the caller (see {@link Entry#isOwner()}).
+     */
+    public synchronized Entry begin(String key, String fingerprint) {
+        long now = System.currentTimeMillis();
+        Entry existing = entries.get(key);
+        if (existing != null && !existing.isExpired(now, ttlMillis)) {
+            return existing.asWaiter();
+        }
+        Entry created = new Entry(fingerprint, now, new CompletableFuture<>(), true);
+        entries.remove(key);
+        entries.put(key, created);
+        return created;
+    }
+
+    /** Forgets a failed execution so the client's next retry runs it again. */
+    public synchronized void abandon(String key, Entry entry) {
+        entries.remove(key, entry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:60000}")
+    public synchronized void purgeExpired() {
+        long now = System.currentTimeMillis();
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            if (!it.next().isExpired(now, ttlMillis)) break;
+            it.remove();
+        }
+    }
+
+    public record Entry(String fingerprint, long createdAtMillis, CompletableFuture<ResponseEntity<?>> response, boolean isOwner) {
+
+        private Entry asWaiter() {
+            return new Entry(fingerprint, createdAtMillis, response, false);
+        }
+
+        private boolean isExpired(long now, long ttlMillis) {
+            return now - createdAtMillis > ttlMillis;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.productreview.service;
+
+import com.productreview.entity.JobCheckpoint;
+import com.productreview.repository.JobCheckpointRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.OptionalLong;
+
+/**
+ * Durable progress for keyset-walking background jobs in {@code job_checkpoints}, one row per
+ * job. A job claims the row's lease before running and renews it with every checkpoint, so
+ * one node runs it at a time and another picks up where it stopped if that node dies.
+ */
+@Service
+public class JobCheckpointStore {
+
+    private final JobCheckpointRepository repository;
+
+    public JobCheckpointStore(JobCheckpointRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Takes the job's lease and returns the key to resume after; empty if another node holds it.
+     * Throws {@link org.springframework.dao.DataIntegrityViolationException} if another node
+     * created the job's row concurrently.
+     */
+    @Transactional
+    public OptionalLong tryClaim(String name, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        if (repository.claimLease(name, now, now.plus(lease)) > 0) {
+            return OptionalLong.of(repository.findById(name).map(JobCheckpoint::getLastKey).orElse(0L));
+        }
+        if (repository.existsById(name)) {
+            return OptionalLong.empty();
+        }
+        repository.saveAndFlush(new JobCheckpoint(name, 0L, now.plus(lease), now));
+        return OptionalLong.of(0L);
+    }
+
+    /** Records progress and extends the lease. */
+    @Transactional
+    public void checkpoint(String name, long lastKey, Duration lease) {
+        JobCheckpoint row = repository.findById(name).orElseThrow();
+        LocalDateTime now = LocalDateTime.now();
+        row.setLastKey(lastKey);
+        row.setLeaseUntil(now.plus(lease));
+        row.setUpdatedAt(now);
+    }
+
+    @Transactional
+    public void release(String name, long lastKey) {
+        repository.findById(name).ifPresent(row -> {
+            row.setLastKey(lastKey);
+            row.setLeaseUntil(null);
+            row.setUpdatedAt(LocalDateTime.now());
+        });
+    }
+}
@@ -0,0 +1,244 @@
+package com.productreview.service;
+
+import com.productreview.dto.ReviewSummaryDTO;
+import com.productreview.entity.Review;
+import com.productreview.util.KeywordMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Keyword-based summary used when the LLM is unavailable. Topic keywords are compiled into one
+ * {@link KeywordMatcher} per category when the class loads, so each review comment is scanned
+ * once and counting topics allocates nothing. Normally the summary is read from the product's
+ * {@link ReviewTopicStats}; the windowed scan over recent reviews covers products whose
+ * counters have not been built yet.
+ */
+final class LocalReviewSummarizer {
+
+    // Order matters: ties in topic counts keep this order.
+    private static final String[] TOPICS = {
+            "battery", "performance", "price", "build", "camera", "delivery", "packaging", "comfort", "usability"
+    };
+
+    private static final Map<String, String[]> LABELS = Map.of(
+            "en", new String[]{"Battery", "Performance", "Price", "Build quality", "Camera", "Delivery", "Packaging", "Comfort", "Usability"},
+            "tr", new String[]{"Batarya", "Performans", "Fiyat", "Malzeme kalitesi", "Kamera", "Kargo", "Paketleme", "Konfor", "Kullanım"},
+            "es", new String[]{"Batería", "Rendimiento", "Precio", "Calidad de construcción", "Cámara", "Envío", "Embalaje", "Comodidad", "Usabilidad"}
+    );
+
+    private static final Map<String, List<String>> ELECTRONICS_KEYWORDS = Map.of(
+            "battery", List.of("battery", "batarya", "pil", "charge", "şarj", "bateria", "carga"),
+            "performance", List.of("performance", "speed", "fast", "performans", "hız", "rapido", "rendimiento"),
+            "camera", List.of("camera", "kamera", "cámara", "photo", "foto"),
+            "build", List.of("build", "quality", "malzeme", "kalite", "construction", "construcción"),
+            "price", List.of("price", "fiyat", "precio", "expensive", "pahalı", "caro"),
+            "delivery", List.of("delivery", "shipping", "kargo", "envío"),
+            "packaging", List.of("package", "packaging", "paket", "embalaje"),
+            "usability", List.of("usability", "easy", "kullanım", "kolay", "usabilidad")
+    );
+
+    private static final Map<String, List<String>> CLOTHING_KEYWORDS = Map.of(
+            "comfort", List.of("comfortable", "comfort", "konfor", "rahat", "comodidad"),
+            "build", List.of("fabric", "quality", "kumaş", "kalite", "tela", "calidad"),
+            "price", List.of("price", "fiyat", "precio", "expensive", "pahalı", "caro"),
+            "delivery", List.of("delivery", "shipping", "kargo", "envío"),
+            "packaging", List.of("package", "packaging", "paket", "embalaje"),
+            "usability", List.of("fit", "size", "beden", "uyum", "talla", "ajuste")
+    );
+
+    private static final Map<String, List<String>> BOOKS_KEYWORDS = Map.of(
+            "usability", List.of("translation", "çeviri", "traducción", "writing", "yazım", "prose", "estilo"),
+            "build", List.of("cover", "kapak", "paper", "kağıt", "portada", "papel"),
+            "price", List.of("price", "fiyat", "precio", "expensive", "pahalı", "caro"),
+            "delivery", List.of("delivery", "shipping", "kargo", "envío"),
+            "packaging", List.of("package", "packaging", "paket", "embalaje")
+    );
+
+    private static final Map<String, List<String>> GENERAL_KEYWORDS = Map.of(
+            "build", List.of("quality", "kalite", "calidad", "material", "malzeme"),
+            "price", List.of("price", "fiyat", "precio", "expensive", "pahalı", "caro"),
+            "delivery", List.of("delivery", "shipping", "kargo", "envío"),
+            "packaging", List.of("package", "packaging", "paket", "embalaje"),
+            "usability", List.of("easy", "kolay", "usabilidad", "usable")
+    );
+
+    private static final KeywordMatcher ELECTRONICS = compile(ELECTRONICS_KEYWORDS);
+    private static final KeywordMatcher CLOTHING = compile(CLOTHING_KEYWORDS);
+    private static final KeywordMatcher BOOKS = compile(BOOKS_KEYWORDS);
+    private static final KeywordMatcher GENERAL = compile(GENERAL_KEYWORDS);
+
+    /** Changes whenever topics or keywords change, so stored counters know they must be rebuilt. */
+    static final String CATALOG_VERSION = fingerprint(ELECTRONICS_KEYWORDS, CLOTHING_KEYWORDS, BOOKS_KEYWORDS, GENERAL_KEYWORDS);
+
+    private LocalReviewSummarizer() {
+    }
+
+    static int topicCount() {
+        return TOPICS.length;
+    }
+
+    static String topicKey(int topic) {
+        return TOPICS[topic];
+    }
+
+    /** Bitmask of the topics (indexes into the catalog) the comment mentions. */
+    static long topicsOf(String category, String comment) {
+        return comment == null ? 0L : matcherFor(category).matchGroups(comment);
+    }
+
+    /**
+     * Summary from the product's incrementally maintained counters: topics ranked over the whole
+     * review history, the praised topic from 4-5 star mentions and the complaint from 1-2 star ones.
+     */
+    static ReviewSummaryDTO summarize(ReviewTopicStats stats, String lang) {
+        List<String> topTopics = topTopics(stats.mentions, lang, 5);
+        String[] labels = LABELS.getOrDefault(lang, LABELS.get("en"));
+        int pos = argMax(stats.positive, -1);
+        int neg = argMax(stats.negative, pos);
+        String posTopic = pos < 0 ? null : labels[pos];
+        String negTopic = neg < 0 ? null : labels[neg];
+
+        List<String> pros = new ArrayList<>(stats.pros.size());
+        stats.pros.forEach(snippet -> pros.add(snippet.text()));
+        List<String> cons = new ArrayList<>(stats.cons.size());
+        stats.cons.forEach(snippet -> cons.add(snippet.text()));
+
+        return new ReviewSummaryDTO(buildTakeaway(lang, posTopic, negTopic), pros, cons, topTopics);
+    }
+
+    static ReviewSummaryDTO summarize(String category, List<Review> reviews, String lang) {
+        KeywordMatcher matcher = matcherFor(category);
+        long[] topicCounts = new long[TOPICS.length];
+        List<String> pros = new ArrayList<>(3);
+        List<String> cons = new ArrayList<>(3);
+
+        if (reviews != null) {
+            for (Review r : reviews) {
+                if (r == null) continue;
+                String comment = r.getComment();
+                if (comment == null) continue;
+
+                Integer rating = r.getRating();
+                if (rating != null && rating >= 4 && pros.size() < 3) {
+                    String snippet = snippetOf(comment);
+                    if (snippet != null && !pros.contains(snippet)) pros.add(snippet);
+                }
+                if (rating != null && rating <= 2 && cons.size() < 3) {
+                    String snippet = snippetOf(comment);
+                    if (snippet != null && !cons.contains(snippet)) cons.add(snippet);
+                }
+
+                long topics = matcher.matchGroups(comment);
+                while (topics != 0) {
+                    topicCounts[Long.numberOfTrailingZeros(topics)]++;
+                    topics &= topics - 1;
+                }
+            }
+        }
+
+        List<String> topTopics = topTopics(topicCounts, lang, 5);
+        String posTopic = topTopics.size() > 0 ? topTopics.get(0) : null;
+        String negTopic = topTopics.size() > 1 ? topTopics.get(1) : null;
+
+        return new ReviewSummaryDTO(buildTakeaway(lang, posTopic, negTopic), pros, cons, topTopics);
+    }
+
+    private static KeywordMatcher matcherFor(String category) {
+        String c = category == null ? "" : category.toLowerCase(Locale.ROOT);
+        if (c.contains("electronics")) return ELECTRONICS;
+        if (c.contains("clothing")) return CLOTHING;
+        if (c.contains("books")) return BOOKS;
+        return GENERAL;
+    }
+
+    private static int argMax(long[] counts, int exclude) {
+        int best = -1;
+        for (int t = 0; t < counts.length; t++) {
+            if (t == exclude || counts[t] == 0) continue;
+            if (best < 0 || counts[t] > counts[best]) best = t;
+        }
+        return best;
+    }
+
+    // Highest counts first, ties in TOPICS order; topics never mentioned are left out.
+    private static List<String> topTopics(long[] counts, String lang, int max) {
+        String[] labels = LABELS.getOrDefault(lang, LABELS.get("en"));
+        List<String> out = new ArrayList<>(max);
+        long taken = 0L;
+        while (out.size() < max) {
+            int best = -1;
+            for (int t = 0; t < counts.length; t++) {
+                if ((taken & (1L << t)) != 0 || counts[t] == 0) continue;
+                if (best < 0 || counts[t] > counts[best]) best = t;
+            }
+            if (best < 0) break;
+            taken |= 1L << best;
+            out.add(labels[best]);
+        }
+        return out;
+    }
+
+    /** First sentence of the comment, capped at 90 characters; null when there is none. */
+    static String snippetOf(String text) {
+        if (text == null) return null;
+        String t = text.replace("\r", " ").replace("\n", " ").trim();
+        if (t.isEmpty()) return null;
+        int end = -1;
+        boolean onlyDelimiters = true;
+        for (int i = 0; i < t.length(); i++) {
+            char ch = t.charAt(i);
+            boolean delimiter = ch == '.' || ch == '!' || ch == '?';
+            if (delimiter && end < 0) end = i;
+            if (!delimiter) onlyDelimiters = false;
+        }
+        // Same as t.split("[.!?]")[0], which yields no parts at all for a string of only delimiters.
+        String s = end < 0 || onlyDelimiters ? t : t.substring(0, end).trim();
+        if (s.length() > 90) s = s.substring(0, 90) + "…";
+        return s.isEmpty() ? null : s;
+    }
+
+    private static String buildTakeaway(String lang, String pos, String neg) {
+        if (pos == null && neg == null) return defaultNoInsight(lang);
+        if (pos != null && neg != null) {
+            if ("tr".equals(lang)) return "Kullanıcıların çoğu " + pos + " konusunu olumlu belirtirken, " + neg + " sıkça eleştiriliyor.";
+            if ("es".equals(lang)) return "La mayoría destaca " + pos + " de forma positiva, mientras que " + neg + " es una queja frecuente.";
+            return "Most users mention " + pos + " positively, while " + neg + " is a common complaint.";
+        }
+        if (pos != null) {
+            if ("tr".equals(lang)) return "Kullanıcıların çoğu " + pos + " konusunu olumlu belirtiyor.";
+            if ("es".equals(lang)) return "La mayoría menciona " + pos + " de forma positiva.";
+            return "Most users mention " + pos + " positively.";
+        }
+        if ("tr".equals(lang)) return neg + " konusu sıkça eleştiriliyor.";
+        if ("es".equals(lang)) return neg + " es una queja frecuente.";
+        return neg + " is a common complaint.";
+    }
+
+    private static String defaultNoInsight(String lang) {
+        if ("tr".equals(lang)) return "Yorumlar farklı deneyimler içeriyor.";
+        if ("es".equals(lang)) return "Las reseñas muestran experiencias variadas.";
+        return "Reviews mention mixed experiences.";
+    }
+
+    private static String fingerprint(Map<?, ?>... catalogs) {
+        StringBuilder sb = new StringBuilder(String.join(",", TOPICS));
+        for (Map<?, ?> catalog : catalogs) {
+            sb.append('|');
+            for (String topic : TOPICS) {
+                sb.append(topic).append('=').append(catalog.get(topic)).append(';');
+            }
+        }
+        return Integer.toHexString(sb.toString().hashCode());
+    }
+
+    private static KeywordMatcher compile(Map<String, List<String>> keywordsByTopic) {
+        List<List<String>> groups = new ArrayList<>(TOPICS.length);
+        for (String topic : TOPICS) {
+            groups.add(keywordsByTopic.getOrDefault(topic, List.of()));
+        }
+        return KeywordMatcher.compile(groups);
+    }
+}
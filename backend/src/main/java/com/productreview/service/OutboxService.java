@@ -0,0 +1,165 @@
+package com.productreview.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.productreview.entity.OutboxEvent;
+import com.productreview.event.ChangeEvent;
+import com.productreview.event.ChangeType;
+import com.productreview.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes change events into {@code outbox_events} inside the caller's transaction and reads
+ * them back in sequence order.
+ * <p>
+ * Sequences are IDENTITY values: handed out at insert, visible at commit. A reader therefore sees
+ * gaps that are either rollbacks (never filled) or transactions still open (filled later, below
+ * what it has already read). Two ways of dealing with that:
+ * <ul>
+ *   <li>{@link #readAfter} reads past gaps; the caller re-reads the missing sequences with
+ *   {@link #readSequences} for a while, as {@code ChangeEventDispatcher} does for
+ *   {@code app.outbox.gap-window}. An event that commits after that window is never delivered.</li>
+ *   <li>{@link #readCommittedAfter} stops at a gap younger than {@code app.outbox.gap-grace}, so a
+ *   single-number cursor (the sync token) cannot step over an open transaction; every rollback
+ *   delays the reader by up to the grace period. An event whose transaction stays open longer
+ *   than the grace period is stepped over and never delivered to that reader.</li>
+ * </ul>
+ */
+@Service
+public class OutboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxService.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final Duration gapGrace;
+    private final Duration retention;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public OutboxService(
+            OutboxEventRepository outboxEventRepository,
+            @Value("${app.outbox.gap-grace:5s}") Duration gapGrace,
+            @Value("${app.outbox.retention:7d}") Duration retention
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.gapGrace = gapGrace;
+        this.retention = retention;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(ChangeType type, Long productId, Long reviewId, Map<String, Object> payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setEventType(type);
+        event.setProductId(productId);
+        event.setReviewId(reviewId);
+        try {
+            event.setPayload(objectMapper.writeValueAsString(payload == null ? Map.of() : payload));
+        } catch (Exception e) {
+            event.setPayload("{}");
+        }
+        outboxEventRepository.save(event);
+    }
+
+    @Transactional(readOnly = true)
+    public long latestSequence() {
+        Long max = outboxEventRepository.findMaxId();
+        return max == null ? 0L : max;
+    }
+
+    /** Oldest sequence still retained, or 0 when the outbox is empty. */
+    @Transactional(readOnly = true)
+    public long oldestSequence() {
+        Long min = outboxEventRepository.findMinId();
+        return min == null ? 0L : min;
+    }
+
+    /** Visible events after {@code afterSequence} in sequence order, gaps or not. */
+    @Transactional(readOnly = true)
+    public List<ChangeEvent> readAfter(long afterSequence, int limit) {
+        return outboxEventRepository.findAfter(afterSequence, PageRequest.of(0, limit)).stream()
+                .map(this::toChangeEvent)
+                .toList();
+    }
+
+    /** The events among {@code sequences} that are visible now, in sequence order. */
+    @Transactional(readOnly = true)
+    public List<ChangeEvent> readSequences(Collection<Long> sequences) {
+        if (sequences.isEmpty()) return List.of();
+        return outboxEventRepository.findAllById(sequences).stream()
+                .sorted(Comparator.comparing(OutboxEvent::getId))
+                .map(this::toChangeEvent)
+                .toList();
+    }
+
+    /**
+     * Events after {@code afterSequence}, cut short at the first id gap that is younger than the
+     * grace window. Identity values are handed out at insert time but become visible at commit,
+     * so a recent gap usually means a transaction that is still open; reading past it would let
+     * that event be skipped for good. Older gaps are rollbacks and are stepped over.
+     */
+    @Transactional(readOnly = true)
+    public CommittedPage readCommittedAfter(long afterSequence, int limit) {
+        List<OutboxEvent> rows = outboxEventRepository.findAfter(afterSequence, PageRequest.of(0, limit));
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime gapCutoff = now.minus(gapGrace);
+
+        List<ChangeEvent> out = new ArrayList<>(rows.size());
+        long expected = afterSequence + 1;
+        for (OutboxEvent row : rows) {
+            if (row.getId() != expected && row.getCreatedAt().isAfter(gapCutoff)) {
+                // The gap is stepped over once the row behind it is older than the grace window.
+                long waitMillis = Duration.between(now, row.getCreatedAt().plus(gapGrace)).toMillis();
+                return new CommittedPage(out, Math.max(1L, waitMillis));
+            }
+            out.add(toChangeEvent(row));
+            expected = row.getId() + 1;
+        }
+        return new CommittedPage(out, 0L);
+    }
+
+    /**
+     * A page of {@link #readCommittedAfter}. A positive {@code retryAfterMillis} means it stopped at
+     * a recent gap with committed events behind it, and is how long until that gap is stepped over.
+     */
+    public record CommittedPage(List<ChangeEvent> events, long retryAfterMillis) {
+
+        public boolean stoppedAtGap() {
+            return retryAfterMillis > 0;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.cleanup-interval-ms:3600000}", initialDelayString = "${app.outbox.cleanup-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int removed = outboxEventRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+        if (removed > 0) {
+            log.info("Purged {} outbox events older than {}", removed, retention);
+        }
+    }
+
+    private ChangeEvent toChangeEvent(OutboxEvent row) {
+        Map<String, Object> payload;
+        try {
+            payload = row.getPayload() == null
+                    ? Map.of()
+                    : objectMapper.readValue(row.getPayload(), new TypeReference<Map<String, Object>>() {});
+        } catch (Exception e) {
+            payload = Map.of();
+        }
+        return new ChangeEvent(row.getId(), row.getEventType(), row.getProductId(), row.getReviewId(), payload, row.getCreatedAt());
+    }
+}
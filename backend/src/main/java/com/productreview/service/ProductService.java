@@ -6,8 +6,11 @@ import com.productreview.dto.ProductDTO;
 import com.productreview.dto.ProductDetailDTO;
 import com.productreview.entity.Product;
 import com.productreview.entity.Review;
+import com.productreview.event.ChangeType;
 import com.productreview.repository.ProductRepository;
+import com.productreview.repository.ProductReviewStatsRepository;
 import com.productreview.repository.ReviewRepository;
+import com.productreview.repository.ReviewSummaryRepository;
 import com.productreview.spec.ProductSpecifications;
 import com.productreview.util.ProductNameUtil;
 import lombok.RequiredArgsConstructor;
@@ -19,6 +22,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +35,10 @@ public class ProductService {
     
     private final ProductRepository productRepository;
     private final ReviewRepository reviewRepository;
+    private final ReviewSummaryRepository reviewSummaryRepository;
+    private final ProductReviewStatsRepository productReviewStatsRepository;
+    private final HelpfulCountBuffer helpfulCountBuffer;
+    private final OutboxService outboxService;
     private final ObjectMapper objectMapper = new ObjectMapper();
     
     public Page<ProductDTO> getAllProducts(Pageable pageable, String category, String search, Integer minRating, BigDecimal minPrice, BigDecimal maxPrice) {
@@ -99,6 +107,19 @@ public class ProductService {
         return convertToDetailDTO(product);
     }
     
+    public List<ProductDTO> getProductsByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        List<Product> products = productRepository.findAllById(ids);
+
+        Map<Long, Aggregate> aggregates = new HashMap<>();
+        for (Object[] row : reviewRepository.findAggregatesByProductIds(products.stream().map(Product::getId).toList())) {
+            aggregates.put((Long) row[0], new Aggregate((Double) row[1], (Long) row[2]));
+        }
+        return products.stream()
+                .map(product -> convertToDTO(product, aggregates.get(product.getId())))
+                .toList();
+    }
+    
     private List<String> parseImageUrls(String imageUrlsJson) {
         if (imageUrlsJson == null || imageUrlsJson.trim().isEmpty()) {
             return new ArrayList<>();
@@ -143,8 +164,10 @@ public class ProductService {
                         review.getRating(),
                         review.getReviewerName(),
                         review.getDeviceId(),
-                        review.getHelpfulCount() == null ? 0L : review.getHelpfulCount(),
-                        review.getCreatedAt()
+                        Math.max(0L, (review.getHelpfulCount() == null ? 0L : review.getHelpfulCount())
+                                + helpfulCountBuffer.pendingDelta(review.getId())),
+                        review.getCreatedAt(),
+                        null
                 ))
                 .collect(Collectors.toList());
         
@@ -179,6 +202,7 @@ public class ProductService {
         }
         
         Product savedProduct = productRepository.save(product);
+        outboxService.record(ChangeType.PRODUCT_CREATED, savedProduct.getId(), null, Map.of());
         
         return new ProductDTO(
                 savedProduct.getId(),
@@ -198,6 +222,9 @@ public class ProductService {
             throw new RuntimeException("Product not found with id: " + id);
         }
         productRepository.deleteById(id);
+        reviewSummaryRepository.deleteByProductId(id);
+        productReviewStatsRepository.deleteByProductId(id);
+        outboxService.record(ChangeType.PRODUCT_DELETED, id, null, Map.of());
     }
 
     private record Aggregate(Double avgRating, Long reviewCount) {}
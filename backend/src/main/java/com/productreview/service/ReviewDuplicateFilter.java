@@ -0,0 +1,106 @@
+package com.productreview.service;
+
+import com.productreview.repository.ReviewRepository;
+import com.productreview.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Per-node Bloom filter of {@code (productId, deviceId)} pairs that already have a review.
+ * A "definitely absent" answer lets review creation skip the existence query; the
+ * {@code uk_reviews_product_device} constraint still guards the rare false negative that can
+ * happen while the filter is being rebuilt.
+ * <p>
+ * {@code ddl-auto=update} cannot add that constraint to a database that already holds duplicate
+ * pairs, so startup checks for them and points at {@code db/dedupe-reviews-product-device.sql}.
+ */
+@Component
+public class ReviewDuplicateFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewDuplicateFilter.class);
+
+    private static final int REBUILD_BATCH_SIZE = 5_000;
+    private static final long MIN_EXPECTED_INSERTIONS = 10_000L;
+
+    private final ReviewRepository reviewRepository;
+    private final double falsePositiveRate;
+
+    // null until the first rebuild finished: every lookup is then a "maybe".
+    private volatile BloomFilter current;
+    private volatile BloomFilter building;
+
+    public ReviewDuplicateFilter(
+            ReviewRepository reviewRepository,
+            @Value("${app.reviews.duplicate-filter.false-positive-rate:0.01}") double falsePositiveRate
+    ) {
+        this.reviewRepository = reviewRepository;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkConstraint() {
+        long duplicates = reviewRepository.countSupersededDeviceReviews();
+        if (duplicates > 0) {
+            log.error("{} reviews repeat a (product, device) pair, so uk_reviews_product_device could not be created "
+                    + "and duplicate reviews are not prevented; run db/dedupe-reviews-product-device.sql", duplicates);
+        }
+    }
+
+    public boolean mightContain(Long productId, String deviceId) {
+        BloomFilter filter = current;
+        return filter == null || filter.mightContain(key(productId, deviceId));
+    }
+
+    public void record(Long productId, String deviceId) {
+        if (deviceId == null) return;
+        String key = key(productId, deviceId);
+        BloomFilter filter = current;
+        if (filter != null) filter.put(key);
+        BloomFilter next = building;
+        if (next != null) next.put(key);
+    }
+
+    // Periodic rebuild also forgets pairs whose reviews were deleted since the last build.
+    @Scheduled(
+            initialDelayString = "${app.reviews.duplicate-filter.initial-delay-ms:0}",
+            fixedDelayString = "${app.reviews.duplicate-filter.rebuild-interval-ms:900000}"
+    )
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        long expected = Math.max(MIN_EXPECTED_INSERTIONS, reviewRepository.count() * 2);
+        BloomFilter next = BloomFilter.create(expected, falsePositiveRate);
+        building = next;
+        try {
+            long afterId = 0L;
+            long loaded = 0L;
+            while (true) {
+                List<Object[]> rows = reviewRepository.findDeviceKeysAfter(afterId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                if (rows.isEmpty()) break;
+                for (Object[] row : rows) {
+                    afterId = (Long) row[0];
+                    next.put(key((Long) row[1], (String) row[2]));
+                }
+                loaded += rows.size();
+                if (rows.size() < REBUILD_BATCH_SIZE) break;
+            }
+            current = next;
+            log.info("Rebuilt review duplicate filter with {} keys in {} ms", loaded, System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            log.warn("Failed to rebuild review duplicate filter, keeping previous one", e);
+        } finally {
+            building = null;
+        }
+    }
+
+    private static String key(Long productId, String deviceId) {
+        return productId + "|" + deviceId;
+    }
+}
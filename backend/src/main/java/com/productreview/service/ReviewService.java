@@ -1,5 +1,6 @@
 package com.productreview.service;
 
+import com.productreview.annotation.RetryOnOptimisticLock;
 import com.productreview.annotation.ValidateCreateReview;
 import com.productreview.dto.CreateReviewDTO;
 import com.productreview.dto.HelpfulVoteResponseDTO;
@@ -7,16 +8,29 @@ import com.productreview.dto.ReviewDTO;
 import com.productreview.dto.UpdateReviewDTO;
 import com.productreview.entity.Product;
 import com.productreview.entity.Review;
-import com.productreview.entity.ReviewHelpfulVote;
+import com.productreview.event.ChangeType;
+import com.productreview.exception.NotFoundException;
+import com.productreview.exception.ValidationException;
+import com.productreview.repository.HelpfulVoteInserter;
 import com.productreview.repository.ProductRepository;
 import com.productreview.repository.ReviewHelpfulVoteRepository;
 import com.productreview.repository.ReviewRepository;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
 @Service
 @RequiredArgsConstructor
 @Transactional
@@ -25,11 +39,17 @@ public class ReviewService {
     private final ReviewRepository reviewRepository;
     private final ReviewHelpfulVoteRepository reviewHelpfulVoteRepository;
     private final ProductRepository productRepository;
+    private final HelpfulVoteInserter helpfulVoteInserter;
+    private final HelpfulCountBuffer helpfulCountBuffer;
+    private final ReviewDuplicateFilter reviewDuplicateFilter;
+    private final OutboxService outboxService;
+    private final ReviewStatsService reviewStatsService;
     
     @ValidateCreateReview
+    @RetryOnOptimisticLock
     public ReviewDTO createReview(CreateReviewDTO createReviewDTO) {
         Product product = productRepository.findById(createReviewDTO.getProductId())
-                .orElseThrow(() -> new RuntimeException("Product not found with id: " + createReviewDTO.getProductId()));
+                .orElseThrow(() -> new NotFoundException("Product not found with id: " + createReviewDTO.getProductId()));
         
         String rawComment = createReviewDTO.getComment();
         String trimmedComment = rawComment == null ? "" : rawComment.trim();
@@ -49,17 +69,27 @@ public class ReviewService {
                 : "Anonymous");
         review.setDeviceId(createReviewDTO.getDeviceId());
         
-        Review savedReview = reviewRepository.save(review);
+        Review savedReview;
+        try {
+            savedReview = reviewRepository.saveAndFlush(review);
+        } catch (DataIntegrityViolationException e) {
+            // The duplicate filter let a concurrent or stale duplicate through; any other
+            // violation (null column, missing product row) is not the caller's duplicate.
+            if (violates(e, "uk_reviews_product_device")) {
+                throw new ValidationException("You have already reviewed this product");
+            }
+            throw e;
+        }
+        reviewDuplicateFilter.record(product.getId(), savedReview.getDeviceId());
 
-        Double avgRating = reviewRepository.findAverageRatingByProductId(product.getId());
-        Long reviewCount = reviewRepository.countByProductId(product.getId());
-        product.setAverageRating(avgRating != null ? Math.round(avgRating * 10.0) / 10.0 : 0.0);
-        product.setReviewCount(reviewCount != null ? reviewCount : 0L);
-        productRepository.save(product);
+        applyAggregates(product);
+        reviewStatsService.reviewCreated(product, savedReview);
+        recordReviewChange(ChangeType.REVIEW_CREATED, product, savedReview);
         
         return convertToDTO(savedReview);
     }
 
+    @RetryOnOptimisticLock
     public ReviewDTO updateReview(Long reviewId, UpdateReviewDTO updateReviewDTO) {
         Review review = reviewRepository.findById(reviewId)
                 .orElseThrow(() -> new RuntimeException("Review not found with id: " + reviewId));
@@ -77,6 +107,8 @@ public class ReviewService {
             throw new IllegalArgumentException("Comment must be at least 10 characters");
         }
 
+        String previousComment = review.getComment();
+        Integer previousRating = review.getRating();
         review.setComment(trimmedComment);
         review.setRating(updateReviewDTO.getRating());
         review.setReviewerName(updateReviewDTO.getReviewerName() != null && !updateReviewDTO.getReviewerName().isEmpty()
@@ -84,10 +116,13 @@ public class ReviewService {
                 : "Anonymous");
 
         Review saved = reviewRepository.save(review);
-        recalculateAggregates(review.getProduct().getId());
+        Product product = recalculateAggregates(review.getProduct().getId());
+        reviewStatsService.reviewUpdated(product, saved, previousComment, previousRating);
+        recordReviewChange(ChangeType.REVIEW_UPDATED, product, saved);
         return convertToDTO(saved);
     }
 
+    @RetryOnOptimisticLock
     public void deleteReview(Long reviewId, String deviceId) {
         Review review = reviewRepository.findById(reviewId)
                 .orElseThrow(() -> new RuntimeException("Review not found with id: " + reviewId));
@@ -98,12 +133,28 @@ public class ReviewService {
 
         Long productId = review.getProduct().getId();
         reviewRepository.delete(review);
-        recalculateAggregates(productId);
+        Product product = recalculateAggregates(productId);
+        reviewStatsService.reviewDeleted(product, review);
+        recordReviewChange(ChangeType.REVIEW_DELETED, product, review);
     }
     
-    public Page<ReviewDTO> getReviewsByProductId(Long productId, Pageable pageable, Integer minRating) {
-        return reviewRepository.findByProductIdFiltered(productId, minRating, pageable)
+    public Page<ReviewDTO> getReviewsByProductId(Long productId, Pageable pageable, Integer minRating, String deviceId) {
+        Page<ReviewDTO> reviews = reviewRepository.findByProductIdFiltered(productId, minRating, pageable)
                 .map(this::convertToDTO);
+        if (deviceId == null || deviceId.trim().isEmpty() || reviews.isEmpty()) {
+            return reviews;
+        }
+
+        List<Long> reviewIds = reviews.getContent().stream().map(ReviewDTO::getId).toList();
+        Set<Long> voted = new HashSet<>(reviewHelpfulVoteRepository.findVotedReviewIds(deviceId, reviewIds));
+        reviews.getContent().forEach(dto -> dto.setHelpfulByMe(voted.contains(dto.getId())));
+        return reviews;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReviewDTO> getReviewsByIds(Collection<Long> reviewIds) {
+        if (reviewIds.isEmpty()) return List.of();
+        return reviewRepository.findAllById(reviewIds).stream().map(this::convertToDTO).toList();
     }
 
     public HelpfulVoteResponseDTO toggleHelpful(Long reviewId, String deviceId) {
@@ -111,28 +162,44 @@ public class ReviewService {
             throw new IllegalArgumentException("deviceId is required");
         }
 
-        Review review = reviewRepository.findById(reviewId)
-                .orElseThrow(() -> new RuntimeException("Review not found with id: " + reviewId));
-
-        var existing = reviewHelpfulVoteRepository.findByReviewIdAndDeviceId(reviewId, deviceId);
+        // Set-based toggle: membership flips with one statement and the counter only ever moves by
+        // an atomic +/-1 (or a buffered delta), so concurrent togglers never lose increments.
         boolean helpfulByMe;
-        if (existing.isPresent()) {
-            reviewHelpfulVoteRepository.delete(existing.get());
-            long next = Math.max(0L, (review.getHelpfulCount() == null ? 0L : review.getHelpfulCount()) - 1L);
-            review.setHelpfulCount(next);
+        long delta = 0L;
+        if (reviewHelpfulVoteRepository.deleteVote(reviewId, deviceId) > 0) {
+            delta = -1L;
             helpfulByMe = false;
         } else {
-            ReviewHelpfulVote vote = new ReviewHelpfulVote();
-            vote.setReview(review);
-            vote.setDeviceId(deviceId);
-            reviewHelpfulVoteRepository.save(vote);
-            long next = (review.getHelpfulCount() == null ? 0L : review.getHelpfulCount()) + 1L;
-            review.setHelpfulCount(next);
+            if (helpfulVoteInserter.insertIfAbsent(reviewId, deviceId) > 0) {
+                delta = 1L;
+            }
             helpfulByMe = true;
         }
 
-        Review saved = reviewRepository.save(review);
-        return new HelpfulVoteResponseDTO(saved.getId(), saved.getHelpfulCount() == null ? 0L : saved.getHelpfulCount(), helpfulByMe);
+        long pendingDelta = 0L;
+        if (helpfulCountBuffer.isEnabled()) {
+            // Buffered mode: the vote row is durable now, the counter catches up on the next flush.
+            if (delta != 0L) {
+                helpfulCountBuffer.addAfterCommit(reviewId, delta);
+            }
+            pendingDelta = helpfulCountBuffer.pendingDelta(reviewId) + delta;
+        } else if (delta > 0L) {
+            reviewRepository.incrementHelpfulCount(reviewId);
+        } else if (delta < 0L) {
+            reviewRepository.decrementHelpfulCount(reviewId);
+        }
+
+        List<Object[]> rows = reviewRepository.findHelpfulCountsByIds(List.of(reviewId));
+        if (rows.isEmpty()) {
+            throw new RuntimeException("Review not found with id: " + reviewId);
+        }
+        Long productId = (Long) rows.get(0)[1];
+        Long helpfulCount = (Long) rows.get(0)[2];
+        if (delta != 0L && !helpfulCountBuffer.isEnabled()) {
+            // Buffered mode publishes one coalesced event per review from the flush instead.
+            outboxService.record(ChangeType.HELPFUL_COUNT_CHANGED, productId, reviewId, Map.of("helpfulCount", helpfulCount));
+        }
+        return new HelpfulVoteResponseDTO(reviewId, Math.max(0L, helpfulCount + pendingDelta), helpfulByMe);
     }
     
     private ReviewDTO convertToDTO(Review review) {
@@ -143,22 +210,61 @@ public class ReviewService {
                 review.getRating(),
                 review.getReviewerName(),
                 review.getDeviceId(),
-                review.getHelpfulCount() == null ? 0L : review.getHelpfulCount(),
-                review.getCreatedAt()
+                helpfulCountOf(review),
+                review.getCreatedAt(),
+                null
         );
     }
 
-    private void recalculateAggregates(Long productId) {
+    private long helpfulCountOf(Review review) {
+        long stored = review.getHelpfulCount() == null ? 0L : review.getHelpfulCount();
+        return Math.max(0L, stored + helpfulCountBuffer.pendingDelta(review.getId()));
+    }
+
+    private Product recalculateAggregates(Long productId) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new RuntimeException("Product not found with id: " + productId));
+        applyAggregates(product);
+        return product;
+    }
+
+    private void recordReviewChange(ChangeType type, Product product, Review review) {
+        // Carries the review itself so live watchers can render it without a refetch.
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("averageRating", product.getAverageRating());
+        payload.put("reviewCount", product.getReviewCount());
+        payload.put("reviewSetVersion", product.getReviewSetVersion());
+        if (type != ChangeType.REVIEW_DELETED) {
+            payload.put("rating", review.getRating());
+            payload.put("comment", review.getComment());
+            payload.put("reviewerName", review.getReviewerName());
+            payload.put("helpfulCount", helpfulCountOf(review));
+            payload.put("createdAt", String.valueOf(review.getCreatedAt()));
+        }
+        outboxService.record(type, product.getId(), review.getId(), payload);
+    }
 
-        Double avgRating = reviewRepository.findAverageRatingByProductId(productId);
-        Long reviewCount = reviewRepository.countByProductId(productId);
+    private void applyAggregates(Product product) {
+        // AVG and COUNT in one statement; no row means the product has no reviews left.
+        List<Object[]> rows = reviewRepository.findAggregatesByProductIds(List.of(product.getId()));
+        Double avgRating = rows.isEmpty() ? null : (Double) rows.get(0)[1];
+        Long reviewCount = rows.isEmpty() ? null : (Long) rows.get(0)[2];
 
         product.setAverageRating(avgRating != null ? Math.round(avgRating * 10.0) / 10.0 : 0.0);
         product.setReviewCount(reviewCount != null ? reviewCount : 0L);
+        // Always dirties the row, so concurrent writes on one product also collide on @Version.
+        product.setReviewSetVersion((product.getReviewSetVersion() == null ? 0L : product.getReviewSetVersion()) + 1);
         productRepository.save(product);
     }
-}
-
 
+    // Drivers report the name differently (H2: "PUBLIC.UK_REVIEWS_PRODUCT_DEVICE_INDEX_8 ON ...").
+    private static boolean violates(DataIntegrityViolationException e, String constraint) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ConstraintViolationException cve && cve.getConstraintName() != null
+                    && cve.getConstraintName().toLowerCase(Locale.ROOT).contains(constraint)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
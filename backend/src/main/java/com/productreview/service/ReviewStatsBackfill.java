@@ -0,0 +1,76 @@
+package com.productreview.service;
+
+import com.productreview.repository.ProductReviewStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Builds missing or outdated {@code product_review_stats} rows after startup, so products that
+ * see no review writes still get history-wide LOCAL summaries. Until then the summary service
+ * falls back to scanning recent reviews.
+ */
+@Component
+public class ReviewStatsBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewStatsBackfill.class);
+
+    private static final int BATCH_SIZE = 100;
+
+    private final ProductReviewStatsRepository statsRepository;
+    private final ReviewStatsService reviewStatsService;
+    private final Executor taskExecutor;
+    private final boolean enabled;
+
+    public ReviewStatsBackfill(
+            ProductReviewStatsRepository statsRepository,
+            ReviewStatsService reviewStatsService,
+            @Qualifier("applicationTaskExecutor") Executor taskExecutor,
+            @Value("${app.review-stats.backfill-on-startup:true}") boolean enabled
+    ) {
+        this.statsRepository = statsRepository;
+        this.reviewStatsService = reviewStatsService;
+        this.taskExecutor = taskExecutor;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (enabled) {
+            taskExecutor.execute(this::run);
+        }
+    }
+
+    void run() {
+        long afterId = 0L;
+        int rebuilt = 0;
+        while (true) {
+            List<Long> productIds = statsRepository.findProductIdsNeedingRebuild(
+                    afterId, LocalReviewSummarizer.CATALOG_VERSION, PageRequest.of(0, BATCH_SIZE));
+            for (Long productId : productIds) {
+                try {
+                    reviewStatsService.rebuild(productId);
+                    rebuilt++;
+                } catch (OptimisticLockingFailureException | DataIntegrityViolationException e) {
+                    // A concurrent review write rebuilt or updated the row itself.
+                    log.debug("Skipped review stats backfill for product {}", productId, e);
+                }
+                afterId = productId;
+            }
+            if (productIds.size() < BATCH_SIZE) break;
+        }
+        if (rebuilt > 0) {
+            log.info("Built review stats for {} products", rebuilt);
+        }
+    }
+}
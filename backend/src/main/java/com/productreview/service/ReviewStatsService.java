@@ -0,0 +1,197 @@
+package com.productreview.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.productreview.entity.Product;
+import com.productreview.entity.ProductReviewStats;
+import com.productreview.entity.Review;
+import com.productreview.repository.ProductRepository;
+import com.productreview.repository.ProductReviewStatsRepository;
+import com.productreview.repository.ReviewRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Per-product topic mention counters (split by 4-5 and 1-2 star ratings) and pro/con snippet
+ * candidates, maintained as reviews are written so the LOCAL summary is an O(topics) read over
+ * the whole review history. Rows are rebuilt from a full scan when missing or when the keyword
+ * catalog changed.
+ * <p>
+ * Writers run inside the review transaction; the row's {@code @Version} turns concurrent
+ * updates into optimistic lock failures, which the review write methods already retry.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReviewStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewStatsService.class);
+
+    private static final int SCAN_PAGE = 500;
+    // Enough recent reviews to find MAX_SNIPPETS distinct first sentences in practice.
+    private static final int SNIPPET_PAGE = 20;
+
+    private final ProductReviewStatsRepository statsRepository;
+    private final ReviewRepository reviewRepository;
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reviewCreated(Product product, Review review) {
+        apply(product, stats -> {
+            stats.count(product.getCategory(), review.getComment(), review.getRating(), 1);
+            stats.offerNewest(review.getId(), review.getComment(), review.getRating());
+        });
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reviewUpdated(Product product, Review review, String previousComment, Integer previousRating) {
+        apply(product, stats -> {
+            stats.count(product.getCategory(), previousComment, previousRating, -1);
+            stats.count(product.getCategory(), review.getComment(), review.getRating(), 1);
+            // An edited review keeps its createdAt, so only the newest-first query knows where it
+            // belongs; offerNewest would put an old review at the front.
+            boolean removed = stats.removeSnippet(review.getId());
+            if (removed || ReviewTopicStats.isSnippetCandidate(review.getComment(), review.getRating())) {
+                refillSnippets(product.getId(), stats);
+            }
+        });
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reviewDeleted(Product product, Review review) {
+        apply(product, stats -> {
+            stats.count(product.getCategory(), review.getComment(), review.getRating(), -1);
+            if (stats.removeSnippet(review.getId())) {
+                refillSnippets(product.getId(), stats);
+            }
+        });
+    }
+
+    /** Recomputes the product's row from all of its reviews; used by the backfill. */
+    @Transactional
+    public void rebuild(Long productId) {
+        productRepository.findById(productId).ifPresent(product -> apply(product, null));
+    }
+
+    /** Current counters for the product, or empty while they are missing or built from an older catalog. */
+    Optional<ReviewTopicStats> find(Long productId) {
+        return statsRepository.findById(productId)
+                .filter(row -> LocalReviewSummarizer.CATALOG_VERSION.equals(row.getCatalogVersion()))
+                .flatMap(row -> {
+                    try {
+                        return Optional.of(read(row));
+                    } catch (Exception e) {
+                        log.warn("Ignoring unreadable review stats for product {}", productId, e);
+                        return Optional.empty();
+                    }
+                });
+    }
+
+    private void apply(Product product, Consumer<ReviewTopicStats> change) {
+        ProductReviewStats row = statsRepository.findById(product.getId()).orElse(null);
+        ReviewTopicStats stats = null;
+        if (change != null && row != null && LocalReviewSummarizer.CATALOG_VERSION.equals(row.getCatalogVersion())) {
+            try {
+                stats = read(row);
+                change.accept(stats);
+            } catch (Exception e) {
+                log.warn("Rebuilding unreadable review stats for product {}", product.getId(), e);
+                stats = null;
+            }
+        }
+        if (stats == null) {
+            // The review change is already flushed, so the scan includes it.
+            stats = scan(product);
+        }
+
+        boolean inserting = row == null;
+        if (inserting) {
+            row = new ProductReviewStats();
+            row.setProductId(product.getId());
+        }
+        write(row, stats);
+        try {
+            statsRepository.saveAndFlush(row);
+        } catch (DataIntegrityViolationException e) {
+            if (!inserting) throw e;
+            // Another transaction created the row first; retrying applies this change on top of it.
+            throw new ObjectOptimisticLockingFailureException(ProductReviewStats.class, product.getId());
+        }
+    }
+
+    private ReviewTopicStats scan(Product product) {
+        ReviewTopicStats stats = new ReviewTopicStats();
+        long afterId = 0L;
+        while (true) {
+            List<Object[]> rows = reviewRepository.findCommentRowsAfter(product.getId(), afterId, PageRequest.of(0, SCAN_PAGE));
+            for (Object[] r : rows) {
+                stats.count(product.getCategory(), (String) r[1], (Integer) r[2], 1);
+                afterId = (Long) r[0];
+            }
+            if (rows.size() < SCAN_PAGE) break;
+        }
+        refillSnippets(product.getId(), stats);
+        return stats;
+    }
+
+    private void refillSnippets(Long productId, ReviewTopicStats stats) {
+        fill(stats.pros, reviewRepository.findLatestCommentsByRating(productId, 4, 5, PageRequest.of(0, SNIPPET_PAGE)));
+        fill(stats.cons, reviewRepository.findLatestCommentsByRating(productId, 1, 2, PageRequest.of(0, SNIPPET_PAGE)));
+    }
+
+    private static void fill(List<ReviewTopicStats.Snippet> target, List<Object[]> newestFirst) {
+        target.clear();
+        for (Object[] r : newestFirst) {
+            if (!ReviewTopicStats.offerOlder(target, (Long) r[0], (String) r[1])) break;
+        }
+    }
+
+    private ReviewTopicStats read(ProductReviewStats row) throws Exception {
+        ReviewTopicStats stats = new ReviewTopicStats();
+        stats.commentedReviews = row.getCommentedReviews();
+        Map<String, long[]> counts = objectMapper.readValue(row.getTopicCounts(), new TypeReference<Map<String, long[]>>() {});
+        for (int t = 0; t < LocalReviewSummarizer.topicCount(); t++) {
+            long[] c = counts.get(LocalReviewSummarizer.topicKey(t));
+            if (c == null || c.length < 3) continue;
+            stats.mentions[t] = c[0];
+            stats.positive[t] = c[1];
+            stats.negative[t] = c[2];
+        }
+        TypeReference<List<ReviewTopicStats.Snippet>> snippets = new TypeReference<>() {};
+        stats.pros.addAll(objectMapper.readValue(row.getProSnippets(), snippets));
+        stats.cons.addAll(objectMapper.readValue(row.getConSnippets(), snippets));
+        return stats;
+    }
+
+    private void write(ProductReviewStats row, ReviewTopicStats stats) {
+        Map<String, long[]> counts = new LinkedHashMap<>();
+        for (int t = 0; t < LocalReviewSummarizer.topicCount(); t++) {
+            if (stats.mentions[t] == 0) continue;
+            counts.put(LocalReviewSummarizer.topicKey(t), new long[]{stats.mentions[t], stats.positive[t], stats.negative[t]});
+        }
+        try {
+            row.setTopicCounts(objectMapper.writeValueAsString(counts));
+            row.setProSnippets(objectMapper.writeValueAsString(stats.pros));
+            row.setConSnippets(objectMapper.writeValueAsString(stats.cons));
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not serialise review stats", e);
+        }
+        row.setCatalogVersion(LocalReviewSummarizer.CATALOG_VERSION);
+        row.setCommentedReviews(stats.commentedReviews);
+        row.setUpdatedAt(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,136 @@
+package com.productreview.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.productreview.dto.ReviewSummaryResponseDTO;
+import com.productreview.entity.ReviewSummary;
+import com.productreview.repository.ProductRepository;
+import com.productreview.repository.ReviewSummaryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+
+/**
+ * Durable copy of generated summaries in {@code review_summaries}, one row per product and
+ * language tagged with the review-set version it was built from. Nodes read it behind their
+ * local cache, so a restart or a new node reuses the existing generation instead of calling
+ * Groq again.
+ */
+@Service
+public class ReviewSummaryStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewSummaryStore.class);
+
+    public record StoredSummary(long reviewSetVersion, ReviewSummaryResponseDTO response, long generatedAtMillis,
+                                Long lastReviewId, int incrementalUpdates) {
+    }
+
+    private final ReviewSummaryRepository reviewSummaryRepository;
+    private final ProductRepository productRepository;
+    private final Duration lease;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public ReviewSummaryStore(
+            ReviewSummaryRepository reviewSummaryRepository,
+            ProductRepository productRepository,
+            @Value("${app.review-summary.store.lease:30s}") Duration lease
+    ) {
+        this.reviewSummaryRepository = reviewSummaryRepository;
+        this.productRepository = productRepository;
+        this.lease = lease;
+    }
+
+    /** The product's review-set version; a stored summary is current only if it was built from exactly this. */
+    @Transactional(readOnly = true)
+    public long currentVersion(Long productId) {
+        return productRepository.findReviewSetVersionById(productId).orElse(0L);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<StoredSummary> find(Long productId, String lang) {
+        return reviewSummaryRepository.findByProductIdAndLang(productId, lang).flatMap(row -> {
+            try {
+                ReviewSummaryResponseDTO response = objectMapper.readValue(row.getPayload(), ReviewSummaryResponseDTO.class);
+                long generatedAt = row.getGeneratedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                int increments = row.getIncrementalUpdates() == null ? 0 : row.getIncrementalUpdates();
+                return Optional.of(new StoredSummary(row.getReviewSetVersion(), response, generatedAt, row.getLastReviewId(), increments));
+            } catch (Exception e) {
+                log.warn("Ignoring unreadable stored summary for product {} ({})", productId, lang, e);
+                return Optional.empty();
+            }
+        });
+    }
+
+    /**
+     * Takes the generation lease for this product/lang. False means another node holds it and
+     * will store the result; a product with no row yet is always claimable.
+     */
+    @Transactional
+    public boolean tryClaim(Long productId, String lang) {
+        LocalDateTime now = LocalDateTime.now();
+        if (reviewSummaryRepository.claimLease(productId, lang, now, now.plus(lease)) > 0) return true;
+        return reviewSummaryRepository.findByProductIdAndLang(productId, lang).isEmpty();
+    }
+
+    /** Gives up the generation lease without storing anything. */
+    @Transactional
+    public void release(Long productId, String lang) {
+        reviewSummaryRepository.findByProductIdAndLang(productId, lang).ifPresent(row -> row.setLeaseUntil(null));
+    }
+
+    /**
+     * Keeps the stored summary, restarting its age and releasing the lease. Used when a
+     * regeneration came out worse than what is stored, so nodes do not retry it immediately.
+     */
+    @Transactional
+    public void touch(Long productId, String lang) {
+        reviewSummaryRepository.findByProductIdAndLang(productId, lang).ifPresent(row -> {
+            row.setGeneratedAt(LocalDateTime.now());
+            row.setLeaseUntil(null);
+        });
+    }
+
+    /**
+     * Stores the summary unless a newer review-set version is already there; releases the lease.
+     * Rows ahead of the product's current version (left over from the earlier outbox-sequence
+     * versions) are not newer, just outdated, and get overwritten.
+     * Throws {@link org.springframework.dao.DataIntegrityViolationException} if another node
+     * inserted the first row for this product/lang concurrently.
+     */
+    @Transactional
+    public void save(Long productId, String lang, long reviewSetVersion, Long lastReviewId, int incrementalUpdates,
+                     ReviewSummaryResponseDTO response) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(response);
+        } catch (Exception e) {
+            log.warn("Could not serialise summary for product {} ({})", productId, lang, e);
+            release(productId, lang);
+            return;
+        }
+
+        ReviewSummary row = reviewSummaryRepository.findByProductIdAndLang(productId, lang).orElse(null);
+        if (row == null) {
+            row = new ReviewSummary();
+            row.setProductId(productId);
+            row.setLang(lang);
+        } else if (row.getReviewSetVersion() > reviewSetVersion && row.getReviewSetVersion() <= currentVersion(productId)) {
+            row.setLeaseUntil(null);
+            return;
+        }
+        row.setReviewSetVersion(reviewSetVersion);
+        row.setSource(response.getSource());
+        row.setPayload(payload);
+        row.setLastReviewId(lastReviewId);
+        row.setIncrementalUpdates(incrementalUpdates);
+        row.setGeneratedAt(LocalDateTime.now());
+        row.setLeaseUntil(null);
+        reviewSummaryRepository.saveAndFlush(row);
+    }
+}
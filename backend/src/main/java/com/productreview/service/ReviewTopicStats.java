@@ -0,0 +1,84 @@
+package com.productreview.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mutable, in-memory form of a {@code product_review_stats} row. Topic arrays are indexed like
+ * {@link LocalReviewSummarizer}'s catalog; snippet lists are newest first and hold at most
+ * {@link #MAX_SNIPPETS} distinct texts.
+ */
+final class ReviewTopicStats {
+
+    static final int MAX_SNIPPETS = 3;
+
+    record Snippet(Long reviewId, String text) {
+    }
+
+    long commentedReviews;
+    final long[] mentions = new long[LocalReviewSummarizer.topicCount()];
+    final long[] positive = new long[LocalReviewSummarizer.topicCount()];
+    final long[] negative = new long[LocalReviewSummarizer.topicCount()];
+    final List<Snippet> pros = new ArrayList<>();
+    final List<Snippet> cons = new ArrayList<>();
+
+    /** Adds ({@code sign} = 1) or removes ({@code sign} = -1) one review's contribution to the counters. */
+    void count(String category, String comment, Integer rating, int sign) {
+        if (comment == null || comment.trim().isEmpty()) return;
+        commentedReviews = Math.max(0L, commentedReviews + sign);
+        long topics = LocalReviewSummarizer.topicsOf(category, comment);
+        while (topics != 0) {
+            int t = Long.numberOfTrailingZeros(topics);
+            mentions[t] = Math.max(0L, mentions[t] + sign);
+            if (isPositive(rating)) positive[t] = Math.max(0L, positive[t] + sign);
+            if (isNegative(rating)) negative[t] = Math.max(0L, negative[t] + sign);
+            topics &= topics - 1;
+        }
+    }
+
+    /**
+     * Puts the review's snippet at the front of its pro or con list, if it has one and the text is
+     * new. Only for a review just created; any other review may be older than the listed ones.
+     */
+    void offerNewest(Long reviewId, String comment, Integer rating) {
+        List<Snippet> target = isPositive(rating) ? pros : isNegative(rating) ? cons : null;
+        if (target == null) return;
+        String text = LocalReviewSummarizer.snippetOf(comment);
+        if (text == null || containsText(target, text)) return;
+        target.add(0, new Snippet(reviewId, text));
+        if (target.size() > MAX_SNIPPETS) target.remove(target.size() - 1);
+    }
+
+    /** Appends while filling a list from newest-first query results; false once the list is full. */
+    static boolean offerOlder(List<Snippet> target, Long reviewId, String comment) {
+        if (target.size() >= MAX_SNIPPETS) return false;
+        String text = LocalReviewSummarizer.snippetOf(comment);
+        if (text != null && !containsText(target, text)) target.add(new Snippet(reviewId, text));
+        return target.size() < MAX_SNIPPETS;
+    }
+
+    /** True if one of the lists held this review's snippet, which then needs refilling. */
+    boolean removeSnippet(Long reviewId) {
+        return pros.removeIf(s -> s.reviewId().equals(reviewId)) | cons.removeIf(s -> s.reviewId().equals(reviewId));
+    }
+
+    /** True if the review would go into the pro or con list were it among the newest. */
+    static boolean isSnippetCandidate(String comment, Integer rating) {
+        return (isPositive(rating) || isNegative(rating)) && LocalReviewSummarizer.snippetOf(comment) != null;
+    }
+
+    static boolean isPositive(Integer rating) {
+        return rating != null && rating >= 4;
+    }
+
+    static boolean isNegative(Integer rating) {
+        return rating != null && rating <= 2;
+    }
+
+    private static boolean containsText(List<Snippet> snippets, String text) {
+        for (Snippet s : snippets) {
+            if (s.text().equals(text)) return true;
+        }
+        return false;
+    }
+}
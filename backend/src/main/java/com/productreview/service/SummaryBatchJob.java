@@ -0,0 +1,229 @@
+package com.productreview.service;
+
+import com.productreview.llm.LlmClient;
+import com.productreview.ratelimit.TokenBucket;
+import com.productreview.repository.ProductRepository;
+import com.productreview.resilience.CircuitBreaker;
+import com.productreview.resilience.LlmCallGuard;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Periodically walks reviewed products in id order and regenerates every stored summary that is
+ * older than the product's review set, so readers find a current summary in
+ * {@code review_summaries} instead of waiting on the refresher.
+ * <p>
+ * Products are refreshed on a small worker pool, and every LLM call (one per product in
+ * multilingual mode, one per language otherwise) first takes a token from a bucket sized below
+ * the provider's rate limit, leaving headroom for refreshes driven by user traffic. The
+ * walk checkpoints after every page in {@code job_checkpoints}, so a restart resumes where it
+ * stopped, and it pauses as soon as the LLM circuit breaker opens, checkpointing before the first
+ * product it did not get to. A product whose generation fails keeps its outdated summary and is
+ * picked up again by the next pass.
+ * <p>
+ * A pass can take many minutes at the configured rate, so the scheduler thread only hands it to
+ * a dedicated runner thread; the other {@code @Scheduled} jobs share that scheduler thread.
+ */
+@Component
+public class SummaryBatchJob {
+
+    private static final Logger log = LoggerFactory.getLogger(SummaryBatchJob.class);
+
+    static final String JOB_NAME = "review-summary-batch";
+
+    private final ProductRepository productRepository;
+    private final GroqReviewSummaryService summaryService;
+    private final JobCheckpointStore checkpointStore;
+    private final LlmClient llmClient;
+    private final LlmCallGuard callGuard;
+    private final boolean enabled;
+    private final int pageSize;
+    private final int summaryLimit;
+    private final Duration lease;
+    private final TokenBucket quota;
+    private final ExecutorService workers;
+    // One pass at a time; a tick that finds one still running is dropped.
+    private final ThreadPoolExecutor passRunner;
+
+    private final AtomicLong cursor = new AtomicLong();
+    private final AtomicInteger running = new AtomicInteger();
+    private final Counter refreshed;
+    private final Counter failed;
+    private final Counter skipped;
+    private final Counter passes;
+
+    public SummaryBatchJob(
+            ProductRepository productRepository,
+            GroqReviewSummaryService summaryService,
+            JobCheckpointStore checkpointStore,
+            LlmClient llmClient,
+            LlmCallGuard callGuard,
+            MeterRegistry meterRegistry,
+            @Value("${app.review-summary.batch.enabled:true}") boolean enabled,
+            @Value("${app.review-summary.batch.workers:2}") int workers,
+            @Value("${app.review-summary.batch.page-size:50}") int pageSize,
+            @Value("${app.review-summary.batch.summary-limit:30}") int summaryLimit,
+            @Value("${app.review-summary.batch.rate-per-minute:30}") double ratePerMinute,
+            @Value("${app.review-summary.batch.burst:5}") int burst,
+            @Value("${app.review-summary.batch.lease:5m}") Duration lease
+    ) {
+        this.productRepository = productRepository;
+        this.summaryService = summaryService;
+        this.checkpointStore = checkpointStore;
+        this.llmClient = llmClient;
+        this.callGuard = callGuard;
+        this.enabled = enabled;
+        this.pageSize = pageSize;
+        this.summaryLimit = summaryLimit;
+        this.lease = lease;
+        this.quota = new TokenBucket(Math.max(1, burst), ratePerMinute / TimeUnit.MINUTES.toNanos(1), System.nanoTime());
+        AtomicInteger threadIds = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(1, workers), runnable -> {
+            Thread thread = new Thread(runnable, "summary-batch-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.passRunner = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "summary-batch-pass");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.DiscardPolicy());
+        this.refreshed = Counter.builder("review_summary.batch.products").tag("outcome", "refreshed").register(meterRegistry);
+        this.failed = Counter.builder("review_summary.batch.products").tag("outcome", "failed").register(meterRegistry);
+        this.skipped = Counter.builder("review_summary.batch.products").tag("outcome", "skipped").register(meterRegistry);
+        this.passes = Counter.builder("review_summary.batch.passes").register(meterRegistry);
+        Gauge.builder("review_summary.batch.cursor", cursor, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("review_summary.batch.running", running, AtomicInteger::get).register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        passRunner.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    @Scheduled(fixedDelayString = "${app.review-summary.batch.interval-ms:900000}",
+            initialDelayString = "${app.review-summary.batch.initial-delay-ms:60000}")
+    public void schedule() {
+        if (!enabled || !llmClient.isConfigured()) return;
+        passRunner.execute(this::run);
+    }
+
+    /** Runs one pass on the calling thread. */
+    void run() {
+        if (!enabled || !llmClient.isConfigured()) return;
+
+        OptionalLong claimed;
+        try {
+            claimed = checkpointStore.tryClaim(JOB_NAME, lease);
+        } catch (DataIntegrityViolationException e) {
+            return; // another node created the checkpoint row, and holds its lease
+        }
+        if (claimed.isEmpty()) return;
+
+        long afterId = claimed.getAsLong();
+        running.set(1);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                if (callGuard.state() == CircuitBreaker.State.OPEN) {
+                    log.info("Summary batch paused after product {}: LLM circuit breaker is open", afterId);
+                    break;
+                }
+                List<Long> productIds = productRepository.findIdsWithOutdatedSummaryAfter(
+                        afterId, summaryService.primaryLang(), PageRequest.of(0, pageSize));
+                int done = productIds.isEmpty() ? 0 : processPage(productIds);
+                if (done > 0) {
+                    afterId = productIds.get(done - 1);
+                    cursor.set(afterId);
+                    checkpointStore.checkpoint(JOB_NAME, afterId, lease);
+                }
+                if (done < productIds.size()) {
+                    log.info("Summary batch paused after product {}: LLM circuit breaker opened", afterId);
+                    break;
+                }
+                if (productIds.size() < pageSize) {
+                    // Pass complete; the next run starts over from the first product.
+                    afterId = 0L;
+                    passes.increment();
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            cursor.set(afterId);
+            checkpointStore.release(JOB_NAME, afterId);
+            running.set(0);
+        }
+    }
+
+    /**
+     * Refreshes the page and returns how many leading products were visited; the rest were skipped
+     * because the breaker opened.
+     */
+    private int processPage(List<Long> productIds) throws InterruptedException {
+        List<Callable<Boolean>> tasks = new ArrayList<>(productIds.size());
+        for (Long productId : productIds) {
+            tasks.add(() -> {
+                boolean anyRefreshed = false;
+                boolean anyFailed = false;
+                for (String lang : summaryService.storedRefreshLangs()) {
+                    acquireQuota();
+                    if (callGuard.state() == CircuitBreaker.State.OPEN) return false;
+                    try {
+                        GroqReviewSummaryService.RefreshOutcome outcome = summaryService.refreshStored(productId, lang, summaryLimit);
+                        anyRefreshed |= outcome == GroqReviewSummaryService.RefreshOutcome.REFRESHED;
+                        anyFailed |= outcome == GroqReviewSummaryService.RefreshOutcome.FAILED;
+                    } catch (RuntimeException e) {
+                        anyFailed = true;
+                        log.debug("Summary batch could not refresh product {} ({})", productId, lang, e);
+                    }
+                }
+                // Skipped: another node held the lease or had already stored this version.
+                (anyFailed ? failed : anyRefreshed ? refreshed : skipped).increment();
+                return true;
+            });
+        }
+        List<Future<Boolean>> results = workers.invokeAll(tasks);
+        for (int i = 0; i < results.size(); i++) {
+            try {
+                if (!results.get(i).get()) return i;
+            } catch (ExecutionException e) {
+                // acquireQuota was interrupted; treat the product as not visited
+                return i;
+            }
+        }
+        return results.size();
+    }
+
+    private void acquireQuota() throws InterruptedException {
+        long waitNanos;
+        while ((waitNanos = quota.tryConsume(System.nanoTime())) > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.productreview.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Bounded, de-duplicated work queue for background summary regeneration. Tasks are ordered by
+ * the product's recent traffic at submit time, so the busiest pages are refreshed first; a
+ * product/lang that is already queued is not queued twice. When {@code maxPending} tasks are
+ * waiting new ones are rejected: the caller keeps serving the stale entry and resubmits on a
+ * later read.
+ */
+final class SummaryRefreshQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(SummaryRefreshQueue.class);
+
+    record Task(Long productId, String lang, int limit, long traffic, long sequence) {
+        String key() {
+            return productId + "|" + lang;
+        }
+    }
+
+    private final PriorityBlockingQueue<Task> queue = new PriorityBlockingQueue<>(
+            64,
+            Comparator.comparingLong(Task::traffic).reversed().thenComparingLong(Task::sequence)
+    );
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final int maxPending;
+    private final Consumer<Task> handler;
+    private final ExecutorService workers;
+
+    private final Counter completed;
+    private final Counter failed;
+    private final Counter rejected;
+
+    SummaryRefreshQueue(int threads, int maxPending, Consumer<Task> handler, MeterRegistry meterRegistry) {
+        this.maxPending = maxPending;
+        this.handler = handler;
+        AtomicInteger threadIds = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "summary-refresh-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.completed = Counter.builder("review_summary.refreshes").tag("outcome", "completed").register(meterRegistry);
+        this.failed = Counter.builder("review_summary.refreshes").tag("outcome", "failed").register(meterRegistry);
+        this.rejected = Counter.builder("review_summary.refreshes").tag("outcome", "rejected").register(meterRegistry);
+        Gauge.builder("review_summary.refresh.pending", queue, PriorityBlockingQueue::size).register(meterRegistry);
+        for (int i = 0; i < threads; i++) {
+            workers.execute(this::runLoop);
+        }
+    }
+
+    boolean submit(Long productId, String lang, int limit, long traffic) {
+        Task task = new Task(productId, lang, limit, traffic, sequence.incrementAndGet());
+        if (!queued.add(task.key())) return false;
+        if (queued.size() > maxPending) {
+            queued.remove(task.key());
+            rejected.increment();
+            return false;
+        }
+        queue.offer(task);
+        return true;
+    }
+
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void runLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Task task;
+            try {
+                task = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            // Released before running, so a change that lands mid-refresh can queue a follow-up.
+            queued.remove(task.key());
+            try {
+                handler.accept(task);
+                completed.increment();
+            } catch (Exception e) {
+                failed.increment();
+                log.warn("Summary refresh failed for product {} ({})", task.productId(), task.lang(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.productreview.service;
+
+import com.productreview.dto.ProductDTO;
+import com.productreview.dto.ReviewDTO;
+import com.productreview.dto.SyncResponseDTO;
+import com.productreview.event.ChangeEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Delta sync over the outbox: the token is the last outbox sequence a client has applied.
+ * A first-time client asks without a token, gets {@code fullResync} plus the current head,
+ * downloads everything through the regular endpoints and then syncs from that head; changes
+ * made during the download are simply applied twice.
+ * <p>
+ * A page that stopped at a recent outbox gap (see {@link OutboxService#readCommittedAfter}) has
+ * {@code hasMore} set and a {@code retryAfterMillis} hint, since committed events wait behind it.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SyncService {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final OutboxService outboxService;
+    private final ProductService productService;
+    private final ReviewService reviewService;
+
+    public SyncResponseDTO sync(String since, int limit) {
+        int safeLimit = Math.max(1, Math.min(MAX_LIMIT, limit));
+        long head = outboxService.latestSequence();
+        Long sinceSequence = parseToken(since);
+        if (sinceSequence == null || sinceSequence > head || sinceSequence < outboxService.oldestSequence() - 1) {
+            return new SyncResponseDTO(String.valueOf(head), false, 0L, true, List.of(), List.of(), List.of(), List.of());
+        }
+
+        OutboxService.CommittedPage page = outboxService.readCommittedAfter(sinceSequence, safeLimit);
+        List<ChangeEvent> events = page.events();
+
+        // Collapse the page to the latest state per entity; a delete always wins over earlier upserts.
+        Set<Long> upsertedProducts = new LinkedHashSet<>();
+        Set<Long> deletedProducts = new LinkedHashSet<>();
+        Set<Long> upsertedReviews = new LinkedHashSet<>();
+        Set<Long> deletedReviews = new LinkedHashSet<>();
+        for (ChangeEvent event : events) {
+            switch (event.type()) {
+                case PRODUCT_DELETED -> {
+                    upsertedProducts.remove(event.productId());
+                    deletedProducts.add(event.productId());
+                }
+                case REVIEW_DELETED -> {
+                    upsertedReviews.remove(event.reviewId());
+                    deletedReviews.add(event.reviewId());
+                    upsertedProducts.add(event.productId());
+                }
+                case REVIEW_CREATED, REVIEW_UPDATED -> {
+                    upsertedReviews.add(event.reviewId());
+                    upsertedProducts.add(event.productId());
+                }
+                case HELPFUL_COUNT_CHANGED -> upsertedReviews.add(event.reviewId());
+                case PRODUCT_CREATED -> upsertedProducts.add(event.productId());
+            }
+        }
+        upsertedProducts.removeAll(deletedProducts);
+
+        // Rows deleted by a later page are just missing here; their tombstone arrives with that page.
+        List<ProductDTO> products = productService.getProductsByIds(upsertedProducts);
+        List<ReviewDTO> reviews = new ArrayList<>();
+        for (ReviewDTO review : reviewService.getReviewsByIds(upsertedReviews)) {
+            if (!deletedProducts.contains(review.getProductId())) reviews.add(review);
+        }
+
+        String nextToken = events.isEmpty()
+                ? String.valueOf(sinceSequence)
+                : String.valueOf(events.get(events.size() - 1).sequence());
+        return new SyncResponseDTO(
+                nextToken,
+                events.size() == safeLimit || page.stoppedAtGap(),
+                page.retryAfterMillis(),
+                false,
+                products,
+                reviews,
+                new ArrayList<>(deletedProducts),
+                new ArrayList<>(deletedReviews)
+        );
+    }
+
+    private Long parseToken(String token) {
+        if (token == null || token.trim().isEmpty()) return null;
+        try {
+            long value = Long.parseLong(token.trim());
+            return value < 0 ? null : value;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
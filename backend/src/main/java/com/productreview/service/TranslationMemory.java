@@ -0,0 +1,116 @@
+package com.productreview.service;
+
+import com.productreview.config.TranslationMemoryProperties;
+import com.productreview.util.MappedKeyValueStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Translations already produced by the LLM, keyed by language and text digest, in a
+ * {@link MappedKeyValueStore} file. Only the strings being returned are ever on the heap, so
+ * its size does not show up as GC pressure, and it survives restarts. If the file cannot be
+ * opened every lookup misses and translations are simply not remembered.
+ * <p>
+ * {@link #put} runs on the HTTP client's completion threads, so it never compacts: once the store
+ * passes its high-water mark a single background thread compacts it, and translations finished
+ * meanwhile are not remembered.
+ */
+@Component
+public class TranslationMemory {
+
+    private static final Logger log = LoggerFactory.getLogger(TranslationMemory.class);
+
+    private final MappedKeyValueStore store;
+    private final long ttlMillis;
+    // At most one compaction running; requests while it runs are dropped.
+    private final ExecutorService compactor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new SynchronousQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "translation-memory-compaction");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+    private final Counter hits;
+    private final Counter misses;
+
+    public TranslationMemory(TranslationMemoryProperties properties, MeterRegistry meterRegistry) {
+        this.ttlMillis = properties.getTtl().toMillis();
+        this.store = properties.isEnabled() ? open(properties) : null;
+        this.hits = Counter.builder("translation_memory.lookups").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("translation_memory.lookups").tag("result", "miss").register(meterRegistry);
+        if (store != null) {
+            Gauge.builder("translation_memory.entries", store, MappedKeyValueStore::entries).register(meterRegistry);
+            Gauge.builder("translation_memory.log.used", store, MappedKeyValueStore::logBytesUsed).baseUnit("bytes").register(meterRegistry);
+            Gauge.builder("translation_memory.log.live", store, MappedKeyValueStore::liveBytes).baseUnit("bytes").register(meterRegistry);
+            Gauge.builder("translation_memory.log.capacity", store, MappedKeyValueStore::logCapacity).baseUnit("bytes").register(meterRegistry);
+        }
+    }
+
+    /** The remembered translation, or null; a store that cannot be read counts as a miss. */
+    public String get(String key) {
+        String value = null;
+        if (store != null) {
+            try {
+                value = store.get(key, System.currentTimeMillis() - ttlMillis);
+            } catch (RuntimeException e) {
+                log.warn("Could not read translation memory", e);
+            }
+        }
+        (value == null ? misses : hits).increment();
+        return value;
+    }
+
+    public void put(String key, String value) {
+        if (store == null) return;
+        try {
+            store.put(key, value, System.currentTimeMillis());
+            if (store.needsCompaction()) {
+                compactor.execute(this::compact);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not store translation", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        compactor.shutdown();
+        if (store != null) {
+            try {
+                compactor.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            store.close();
+        }
+    }
+
+    private void compact() {
+        try {
+            store.compact(System.currentTimeMillis() - ttlMillis);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not compact translation memory", e);
+        }
+    }
+
+    private static MappedKeyValueStore open(TranslationMemoryProperties properties) {
+        Path path = Path.of(properties.getPath());
+        try {
+            return MappedKeyValueStore.open(path, properties.getSlots(), (int) properties.getLogCapacity().toBytes());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Translation memory at {} unavailable; translations will not be remembered", path, e);
+            return null;
+        }
+    }
+}
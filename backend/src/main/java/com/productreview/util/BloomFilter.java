@@ -0,0 +1,72 @@
+package com.productreview.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over string keys. {@link #mightContain} never returns false for a key
+ * that was {@link #put}, but may return true for keys that were not.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BloomFilter(long bitCount, int hashCount) {
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (bitCount + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * 64;
+        this.hashCount = hashCount;
+    }
+
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1L, expectedInsertions);
+        double p = Math.min(0.5, Math.max(1e-9, falsePositiveRate));
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-n * Math.log(p) / (ln2 * ln2));
+        int hashes = (int) Math.max(1, Math.round((double) bits / n * ln2));
+        return new BloomFilter(Math.max(64L, bits), hashes);
+    }
+
+    public void put(String key) {
+        long h1 = hash(key);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << (bit & 63);
+            if ((words.get(word) & mask) == 0) {
+                words.getAndAccumulate(word, mask, (a, b) -> a | b);
+            }
+        }
+    }
+
+    public boolean mightContain(String key) {
+        long h1 = hash(key);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << (bit & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long hash(String key) {
+        // FNV-1a over UTF-16 code units, finalised with a 64-bit mixer for better bit spread.
+        long h = 0xcbf29ce484222325L;
+        String s = key == null ? "" : key;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,155 @@
+package com.productreview.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Case-insensitive Aho-Corasick matcher over up to 64 keyword groups. {@link #matchGroups} scans
+ * the text once, without allocating, and returns a bitmask of the groups with at least one
+ * keyword occurring anywhere in it (substring semantics, like {@code text.contains(keyword)}).
+ * <p>
+ * The automaton is compiled into a dense DFA over the characters that actually appear in the
+ * keywords; any other character sends the scan back to the root.
+ */
+public final class KeywordMatcher {
+
+    private static final int ASCII = 128;
+
+    // Alphabet: ASCII via direct lookup, anything else via binary search; index 0 = "other"
+    private final int[] asciiIndex;
+    private final char[] extraChars;
+    private final int[] extraIndex;
+    private final int alphabetSize;
+
+    // transitions[state * alphabetSize + symbol]
+    private final int[] transitions;
+    private final long[] outputs;
+
+    private KeywordMatcher(int[] asciiIndex, char[] extraChars, int[] extraIndex, int alphabetSize,
+                           int[] transitions, long[] outputs) {
+        this.asciiIndex = asciiIndex;
+        this.extraChars = extraChars;
+        this.extraIndex = extraIndex;
+        this.alphabetSize = alphabetSize;
+        this.transitions = transitions;
+        this.outputs = outputs;
+    }
+
+    /** Group {@code i} of the result bitmask is {@code keywordsByGroup.get(i)}. Blank keywords are ignored. */
+    public static KeywordMatcher compile(List<? extends Iterable<String>> keywordsByGroup) {
+        if (keywordsByGroup.size() > 64) {
+            throw new IllegalArgumentException("At most 64 keyword groups are supported");
+        }
+
+        TreeSet<Character> chars = new TreeSet<>();
+        List<String> patterns = new ArrayList<>();
+        List<Integer> patternGroups = new ArrayList<>();
+        for (int group = 0; group < keywordsByGroup.size(); group++) {
+            for (String keyword : keywordsByGroup.get(group)) {
+                if (keyword == null || keyword.isEmpty()) continue;
+                String normalized = lower(keyword);
+                for (int i = 0; i < normalized.length(); i++) chars.add(normalized.charAt(i));
+                patterns.add(normalized);
+                patternGroups.add(group);
+            }
+        }
+
+        int[] asciiIndex = new int[ASCII];
+        List<Character> extras = new ArrayList<>();
+        int symbols = 1;
+        for (char c : chars) {
+            if (c < ASCII) {
+                asciiIndex[c] = symbols++;
+            } else {
+                extras.add(c);
+            }
+        }
+        // Upper-case ASCII shares the lower-case symbol, so the scan only lower-cases non-ASCII chars.
+        for (char c = 'A'; c <= 'Z'; c++) {
+            asciiIndex[c] = asciiIndex[Character.toLowerCase(c)];
+        }
+        char[] extraChars = new char[extras.size()];
+        int[] extraIndex = new int[extras.size()];
+        for (int i = 0; i < extras.size(); i++) {
+            extraChars[i] = extras.get(i);
+            extraIndex[i] = symbols++;
+        }
+
+        // Trie
+        List<int[]> goTo = new ArrayList<>();
+        List<Long> out = new ArrayList<>();
+        goTo.add(new int[symbols]);
+        out.add(0L);
+        for (int p = 0; p < patterns.size(); p++) {
+            String pattern = patterns.get(p);
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                int symbol = symbolOf(pattern.charAt(i), asciiIndex, extraChars, extraIndex);
+                if (goTo.get(state)[symbol] == 0) {
+                    goTo.get(state)[symbol] = goTo.size();
+                    goTo.add(new int[symbols]);
+                    out.add(0L);
+                }
+                state = goTo.get(state)[symbol];
+            }
+            out.set(state, out.get(state) | (1L << patternGroups.get(p)));
+        }
+
+        // Failure links folded into a full DFA, breadth first
+        int states = goTo.size();
+        int[] transitions = new int[states * symbols];
+        long[] outputs = new long[states];
+        int[] fail = new int[states];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        outputs[0] = out.get(0);
+        for (int symbol = 1; symbol < symbols; symbol++) {
+            int next = goTo.get(0)[symbol];
+            transitions[symbol] = next;
+            if (next != 0) queue.add(next);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outputs[state] = out.get(state) | outputs[fail[state]];
+            for (int symbol = 1; symbol < symbols; symbol++) {
+                int next = goTo.get(state)[symbol];
+                if (next != 0) {
+                    fail[next] = transitions[fail[state] * symbols + symbol];
+                    transitions[state * symbols + symbol] = next;
+                    queue.add(next);
+                } else {
+                    transitions[state * symbols + symbol] = transitions[fail[state] * symbols + symbol];
+                }
+            }
+        }
+
+        return new KeywordMatcher(asciiIndex, extraChars, extraIndex, symbols, transitions, outputs);
+    }
+
+    public long matchGroups(CharSequence text) {
+        if (text == null) return 0L;
+        long found = 0L;
+        int state = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            int symbol = c < ASCII ? asciiIndex[c] : symbolOf(Character.toLowerCase(c), asciiIndex, extraChars, extraIndex);
+            state = transitions[state * alphabetSize + symbol];
+            found |= outputs[state];
+        }
+        return found;
+    }
+
+    private static int symbolOf(char c, int[] asciiIndex, char[] extraChars, int[] extraIndex) {
+        if (c < ASCII) return asciiIndex[c];
+        int i = Arrays.binarySearch(extraChars, c);
+        return i >= 0 ? extraIndex[i] : 0;
+    }
+
+    private static String lower(String keyword) {
+        StringBuilder sb = new StringBuilder(keyword.length());
+        for (int i = 0; i < keyword.length(); i++) sb.append(Character.toLowerCase(keyword.charAt(i)));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,429 @@
+package com.productreview.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * String key/value store kept in one memory-mapped file, so its contents live in the page cache
+ * rather than on the Java heap and survive restarts. The file holds a header, an open-addressing
+ * hash index and an append-only value log:
+ * <pre>
+ *   header  magic, version, slot count, log capacity, write position, entries, live bytes
+ *   index   slot = [64-bit key hash][log offset + 1], 0 offset = empty, linear probing
+ *   log     record = [key length][value length][written-at millis][key UTF-8][value UTF-8]
+ * </pre>
+ * Writing a key again appends a new record and repoints its slot; the old record stays in the
+ * log as garbage. {@link #put} never compacts: once the log or the index passes its high-water
+ * mark {@link #needsCompaction} says so, and the caller runs {@link #compact} off the write path.
+ * It copies the live records into a fresh file and atomically renames it over the old one,
+ * dropping records older than the cutoff and, if that is not enough, the oldest ones until half
+ * the space is free again.
+ * <p>
+ * Records are written before the header's write position and the position before the slot, so
+ * a crash of the process leaves at worst an unreferenced record: the OS still writes back every
+ * page it was given. An OS crash or power loss can lose some of those pages and keep others, so
+ * reads bounds-check each slot and record against the write position and treat a bad one as a
+ * miss, compaction drops it, and a header that does not add up gets the file replaced.
+ * <p>
+ * One process at a time: {@link #open} takes an exclusive lock on a {@code .lock} file next to the
+ * store and fails if another process holds it. Within the process, reads share a lock and writes
+ * take it exclusively. Compaction only takes it to swap in the new file: while it copies, reads
+ * go on against the old file and puts are skipped, so that file does not change underneath it.
+ */
+public final class MappedKeyValueStore implements Closeable {
+
+    private static final int MAGIC = 0x544D454D; // "TMEM"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int SLOT_BYTES = 16;
+    private static final int RECORD_HEADER_BYTES = 16;
+
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 4;
+    private static final int H_SLOTS = 8;
+    private static final int H_CAPACITY = 12;
+    private static final int H_WRITE_POS = 16;
+    private static final int H_ENTRIES = 24;
+    private static final int H_LIVE_BYTES = 28;
+
+    // Puts stop once the index is this full; probe chains grow quickly past it.
+    private static final double MAX_LOAD = 0.75;
+    // Fraction of the log or of MAX_LOAD at which compaction is due, leaving room for the puts
+    // that arrive before it runs.
+    private static final double HIGH_WATER = 0.9;
+
+    private final Path path;
+    private final int slotCount;
+    private final int logCapacity;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+
+    private FileChannel lockChannel;
+    private FileChannel channel;
+    // Volatile for the unlocked size getters; everything else reads it under the lock.
+    private volatile MappedByteBuffer buffer;
+    private boolean closed;
+
+    private MappedKeyValueStore(Path path, int slotCount, int logCapacity) {
+        this.path = path;
+        this.slotCount = slotCount;
+        this.logCapacity = logCapacity;
+    }
+
+    /**
+     * Opens the store at {@code path}, creating it if needed. {@code slotCount} is rounded up to a
+     * power of two. An existing file with a different geometry is carried over by compaction;
+     * one that is not a store file, or whose header is inconsistent, is replaced. Throws if
+     * another process has the store open.
+     */
+    public static MappedKeyValueStore open(Path path, int slotCount, int logCapacity) throws IOException {
+        int slots = Integer.highestOneBit(Math.max(16, slotCount - 1) << 1);
+        if ((long) HEADER_BYTES + (long) slots * SLOT_BYTES + logCapacity > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Index and log must fit in 2GB");
+        }
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        MappedKeyValueStore store = new MappedKeyValueStore(path, slots, logCapacity);
+        // The store file is replaced on every compaction, so the lock lives on a file of its own.
+        store.lockChannel = FileChannel.open(path.resolveSibling(path.getFileName() + ".lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            FileLock fileLock;
+            try {
+                fileLock = store.lockChannel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                fileLock = null; // held by another store in this JVM
+            }
+            if (fileLock == null) {
+                throw new IOException("Store " + path + " is already open in another process");
+            }
+            store.load();
+            return store;
+        } catch (IOException | RuntimeException e) {
+            if (store.channel != null) store.channel.close();
+            store.lockChannel.close();
+            throw e;
+        }
+    }
+
+    private void load() throws IOException {
+        if (Files.exists(path) && Files.size(path) >= HEADER_BYTES) {
+            FileChannel existing = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer mapped = existing.map(FileChannel.MapMode.READ_WRITE, 0, existing.size());
+            if (isValidHeader(mapped, existing.size())) {
+                channel = existing;
+                buffer = mapped;
+                if (mapped.getInt(H_SLOTS) != slotCount || mapped.getInt(H_CAPACITY) != logCapacity) {
+                    compact(Long.MIN_VALUE);
+                }
+                return;
+            }
+            existing.close();
+        }
+
+        Path fresh = tempPath();
+        FileChannel created = create(fresh, slotCount, logCapacity);
+        created.close();
+        Files.move(fresh, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+    }
+
+    /** The value stored for {@code key}, or null if there is none or it was written before {@code notBeforeMillis}. */
+    public String get(String key, long notBeforeMillis) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        long hash = hash(keyBytes);
+        lock.readLock().lock();
+        try {
+            MappedByteBuffer b = buffer;
+            int slots = b.getInt(H_SLOTS);
+            int slot = find(b, slots, keyBytes, hash);
+            if (slot < 0) return null;
+            int record = recordAt(b, slots, slot); // in bounds, find checked it
+            if (b.getLong(record + 8) < notBeforeMillis) return null;
+            int keyLength = b.getInt(record);
+            byte[] value = new byte[b.getInt(record + 4)];
+            b.get(record + RECORD_HEADER_BYTES + keyLength, value);
+            return new String(value, StandardCharsets.UTF_8);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stores the value and returns true, or returns false without writing if a compaction is
+     * running or the log or index has no room left for it.
+     */
+    public boolean put(String key, String value, long nowMillis) {
+        if (compacting.get()) return false;
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+        int size = RECORD_HEADER_BYTES + keyBytes.length + valueBytes.length;
+        if (size > logCapacity / 4) {
+            return false; // not worth evicting a quarter of the store for
+        }
+        long hash = hash(keyBytes);
+
+        lock.writeLock().lock();
+        try {
+            // Checked again under the lock: compaction relies on no put starting after it set the flag.
+            if (closed || compacting.get()) return false;
+            if (writePosition() + size > logCapacity || entries() + 1 > slotCount * MAX_LOAD) return false;
+            MappedByteBuffer b = buffer;
+            int slots = b.getInt(H_SLOTS);
+            int logStart = logStart(slots);
+            int offset = writePosition();
+
+            int record = logStart + offset;
+            b.putInt(record, keyBytes.length);
+            b.putInt(record + 4, valueBytes.length);
+            b.putLong(record + 8, nowMillis);
+            b.put(record + RECORD_HEADER_BYTES, keyBytes);
+            b.put(record + RECORD_HEADER_BYTES + keyBytes.length, valueBytes);
+            b.putLong(H_WRITE_POS, offset + size);
+
+            int slot = find(b, slots, keyBytes, hash);
+            long live = b.getLong(H_LIVE_BYTES) + size;
+            if (slot >= 0) {
+                live -= recordSize(b, recordAt(b, slots, slot));
+            } else {
+                slot = emptySlot(b, slots, hash);
+                b.putInt(H_ENTRIES, b.getInt(H_ENTRIES) + 1);
+                b.putLong(HEADER_BYTES + slot * SLOT_BYTES, hash);
+            }
+            b.putLong(HEADER_BYTES + slot * SLOT_BYTES + 8, offset + 1L);
+            b.putLong(H_LIVE_BYTES, live);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** True once the log or the index is past its high-water mark. */
+    public boolean needsCompaction() {
+        return writePosition() > logCapacity * HIGH_WATER || entries() > slotCount * MAX_LOAD * HIGH_WATER;
+    }
+
+    /**
+     * Rewrites the file with only the live records written at or after {@code expireBeforeMillis}.
+     * If they would still fill more than half the log or index, the oldest are dropped as well.
+     * Reads are only blocked for the final swap; puts made meanwhile are skipped. Returns at once
+     * if another compaction is running.
+     */
+    public void compact(long expireBeforeMillis) throws IOException {
+        if (!compacting.compareAndSet(false, true)) return;
+        try {
+            MappedByteBuffer old;
+            // Waits out a put already holding the lock; every later one sees the flag.
+            lock.writeLock().lock();
+            try {
+                if (closed) return;
+                old = buffer;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            int oldSlots = old.getInt(H_SLOTS);
+
+            List<long[]> live = new ArrayList<>(); // [record position, written at, size]
+            for (int slot = 0; slot < oldSlots; slot++) {
+                if (old.getLong(HEADER_BYTES + slot * SLOT_BYTES + 8) == 0) continue;
+                int record = recordAt(old, oldSlots, slot);
+                if (record < 0) continue;
+                long writtenAt = old.getLong(record + 8);
+                if (writtenAt < expireBeforeMillis) continue;
+                live.add(new long[]{record, writtenAt, recordSize(old, record)});
+            }
+            live.sort(Comparator.comparingLong((long[] r) -> r[1]).reversed());
+
+            Path compacted = tempPath();
+            FileChannel next = create(compacted, slotCount, logCapacity);
+            MappedByteBuffer b = next.map(FileChannel.MapMode.READ_WRITE, 0, next.size());
+            int logStart = logStart(slotCount);
+            long budgetBytes = logCapacity / 2;
+            long budgetEntries = (long) (slotCount * MAX_LOAD / 2);
+            int offset = 0;
+            int entries = 0;
+            for (long[] r : live) {
+                int size = (int) r[2];
+                if (offset + size > budgetBytes || entries + 1 > budgetEntries) break;
+                int record = (int) r[0];
+                byte[] bytes = new byte[size];
+                old.get(record, bytes);
+                b.put(logStart + offset, bytes);
+
+                byte[] key = Arrays.copyOfRange(bytes, RECORD_HEADER_BYTES, RECORD_HEADER_BYTES + old.getInt(record));
+                long hash = hash(key);
+                int slot = emptySlot(b, slotCount, hash);
+                b.putLong(HEADER_BYTES + slot * SLOT_BYTES, hash);
+                b.putLong(HEADER_BYTES + slot * SLOT_BYTES + 8, offset + 1L);
+                offset += size;
+                entries++;
+            }
+            b.putLong(H_WRITE_POS, offset);
+            b.putInt(H_ENTRIES, entries);
+            b.putLong(H_LIVE_BYTES, offset);
+            b.force();
+            next.close();
+
+            lock.writeLock().lock();
+            try {
+                if (closed) {
+                    Files.deleteIfExists(compacted);
+                    return;
+                }
+                // Readers are locked out; the old mapping is released when the buffer is collected.
+                Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                channel.close();
+                channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    public int entries() {
+        return buffer.getInt(H_ENTRIES);
+    }
+
+    /** Bytes of the log in use, garbage included. */
+    public long logBytesUsed() {
+        return writePosition();
+    }
+
+    /** Bytes of the log held by the current version of each key. */
+    public long liveBytes() {
+        return buffer.getLong(H_LIVE_BYTES);
+    }
+
+    public int logCapacity() {
+        return logCapacity;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (closed) return;
+            closed = true;
+            buffer.force();
+            channel.close();
+            lockChannel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int writePosition() {
+        return (int) buffer.getLong(H_WRITE_POS);
+    }
+
+    private static int find(MappedByteBuffer b, int slots, byte[] key, long hash) {
+        int mask = slots - 1;
+        for (int i = (int) hash & mask, probes = 0; probes < slots; i = (i + 1) & mask, probes++) {
+            int base = HEADER_BYTES + i * SLOT_BYTES;
+            if (b.getLong(base + 8) == 0) return -1;
+            if (b.getLong(base) != hash) continue;
+            int record = recordAt(b, slots, i);
+            if (record >= 0 && keyEquals(b, record, key)) return i;
+        }
+        return -1;
+    }
+
+    private static int emptySlot(MappedByteBuffer b, int slots, long hash) {
+        int mask = slots - 1;
+        for (int i = (int) hash & mask; ; i = (i + 1) & mask) {
+            if (b.getLong(HEADER_BYTES + i * SLOT_BYTES + 8) == 0) return i;
+        }
+    }
+
+    private static boolean keyEquals(MappedByteBuffer b, int record, byte[] key) {
+        if (b.getInt(record) != key.length) return false;
+        int start = record + RECORD_HEADER_BYTES;
+        for (int i = 0; i < key.length; i++) {
+            if (b.get(start + i) != key[i]) return false;
+        }
+        return true;
+    }
+
+    // Position of the slot's record, or -1 if it does not lie wholly inside the written log.
+    private static int recordAt(MappedByteBuffer b, int slots, int slot) {
+        long offset = b.getLong(HEADER_BYTES + slot * SLOT_BYTES + 8) - 1;
+        long written = b.getLong(H_WRITE_POS);
+        if (offset < 0 || offset + RECORD_HEADER_BYTES > written) return -1;
+        int record = logStart(slots) + (int) offset;
+        long keyLength = b.getInt(record);
+        long valueLength = b.getInt(record + 4);
+        if (keyLength < 0 || valueLength < 0 || offset + RECORD_HEADER_BYTES + keyLength + valueLength > written) return -1;
+        return record;
+    }
+
+    private static boolean isValidHeader(MappedByteBuffer b, long fileBytes) {
+        if (b.getInt(H_MAGIC) != MAGIC || b.getInt(H_VERSION) != VERSION) return false;
+        int slots = b.getInt(H_SLOTS);
+        int capacity = b.getInt(H_CAPACITY);
+        if (slots <= 0 || Integer.bitCount(slots) != 1 || capacity <= 0 || fileBytes != fileSize(slots, capacity)) return false;
+        long written = b.getLong(H_WRITE_POS);
+        int entries = b.getInt(H_ENTRIES);
+        return written >= 0 && written <= capacity && entries >= 0 && entries <= slots;
+    }
+
+    private static int recordSize(MappedByteBuffer b, int record) {
+        return RECORD_HEADER_BYTES + b.getInt(record) + b.getInt(record + 4);
+    }
+
+    private static int logStart(int slots) {
+        return HEADER_BYTES + slots * SLOT_BYTES;
+    }
+
+    private static long fileSize(int slots, int logCapacity) {
+        return (long) HEADER_BYTES + (long) slots * SLOT_BYTES + logCapacity;
+    }
+
+    private Path tempPath() {
+        return path.resolveSibling(path.getFileName() + ".tmp");
+    }
+
+    // Sized sparse file with an empty header; the caller maps and fills it.
+    private static FileChannel create(Path file, int slots, int logCapacity) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer b = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(slots, logCapacity));
+        b.putInt(H_MAGIC, MAGIC);
+        b.putInt(H_VERSION, VERSION);
+        b.putInt(H_SLOTS, slots);
+        b.putInt(H_CAPACITY, logCapacity);
+        return channel;
+    }
+
+    private static long hash(byte[] key) {
+        // FNV-1a finalised with a 64-bit mixer, as in BloomFilter.
+        long h = 0xcbf29ce484222325L;
+        for (byte value : key) {
+            h ^= value & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+        h = (h ^ (h >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+}
@@ -0,0 +1,163 @@
+package com.productreview.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Collapses near-duplicate texts using MinHash signatures over character shingles and LSH
+ * banding. Items are visited in order; each one joins the first earlier representative whose
+ * estimated Jaccard similarity reaches the threshold, or becomes a representative itself. Only
+ * representatives sharing at least one LSH band are compared, so the pass is close to linear.
+ * <p>
+ * Texts are compared after lower-casing and collapsing everything but letters and digits to a
+ * single space, so punctuation and casing differences do not matter. An optional group key keeps
+ * items of different groups apart however similar their texts are.
+ */
+public final class MinHashDeduplicator {
+
+    private static final int SHINGLE = 4;
+    // 16 bands x 4 rows: pairs at 0.7 similarity share a band with ~99% probability, pairs at
+    // 0.3 with ~12%; the signature comparison then decides.
+    private static final int BANDS = 16;
+    private static final int ROWS = 4;
+    private static final int HASHES = BANDS * ROWS;
+    private static final long[] SEEDS = new long[HASHES];
+
+    static {
+        long z = 0x5DEECE66DL;
+        for (int i = 0; i < HASHES; i++) {
+            z += 0x9E3779B97F4A7C15L;
+            SEEDS[i] = mix(z);
+        }
+    }
+
+    public record Cluster<T>(T representative, int count) {
+    }
+
+    private final double threshold;
+
+    public MinHashDeduplicator(double threshold) {
+        if (threshold <= 0 || threshold > 1) {
+            throw new IllegalArgumentException("threshold must be in (0, 1]");
+        }
+        this.threshold = threshold;
+    }
+
+    public <T> List<Cluster<T>> cluster(List<T> items, Function<? super T, ? extends CharSequence> text) {
+        return cluster(items, text, item -> null);
+    }
+
+    /** Like {@link #cluster(List, Function)}, but only items with equal {@code group} keys merge. */
+    public <T> List<Cluster<T>> cluster(List<T> items, Function<? super T, ? extends CharSequence> text,
+                                        Function<? super T, ?> group) {
+        List<T> representatives = new ArrayList<>();
+        List<Object> groups = new ArrayList<>();
+        List<long[]> signatures = new ArrayList<>();
+        List<int[]> counts = new ArrayList<>();
+        // band index and band hash -> representatives with that band
+        List<Map<Long, List<Integer>>> buckets = new ArrayList<>(BANDS);
+        for (int b = 0; b < BANDS; b++) buckets.add(new HashMap<>());
+
+        for (T item : items) {
+            long[] signature = signature(text.apply(item));
+            Object key = group.apply(item);
+            int match = -1;
+            for (int b = 0; b < BANDS && match < 0; b++) {
+                List<Integer> candidates = buckets.get(b).get(bandHash(signature, b));
+                if (candidates == null) continue;
+                for (int candidate : candidates) {
+                    if (Objects.equals(key, groups.get(candidate))
+                            && similarity(signature, signatures.get(candidate)) >= threshold) {
+                        match = candidate;
+                        break;
+                    }
+                }
+            }
+            if (match >= 0) {
+                counts.get(match)[0]++;
+                continue;
+            }
+
+            int index = representatives.size();
+            representatives.add(item);
+            groups.add(key);
+            signatures.add(signature);
+            counts.add(new int[]{1});
+            for (int b = 0; b < BANDS; b++) {
+                buckets.get(b).computeIfAbsent(bandHash(signature, b), k -> new ArrayList<>(1)).add(index);
+            }
+        }
+
+        List<Cluster<T>> out = new ArrayList<>(representatives.size());
+        for (int i = 0; i < representatives.size(); i++) {
+            out.add(new Cluster<>(representatives.get(i), counts.get(i)[0]));
+        }
+        return out;
+    }
+
+    private static long[] signature(CharSequence raw) {
+        String s = normalize(raw);
+        long[] minima = new long[HASHES];
+        Arrays.fill(minima, Long.MAX_VALUE);
+        int last = Math.max(0, s.length() - SHINGLE);
+        for (int i = 0; i <= last; i++) {
+            long shingle = 0xcbf29ce484222325L;
+            for (int j = i, end = Math.min(s.length(), i + SHINGLE); j < end; j++) {
+                shingle ^= s.charAt(j);
+                shingle *= 0x100000001b3L;
+            }
+            for (int k = 0; k < HASHES; k++) {
+                long h = mix(shingle ^ SEEDS[k]);
+                if (h < minima[k]) minima[k] = h;
+            }
+        }
+        return minima;
+    }
+
+    private static String normalize(CharSequence raw) {
+        if (raw == null) return "";
+        StringBuilder sb = new StringBuilder(raw.length());
+        boolean space = true;
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(c);
+                space = false;
+            } else if (!space) {
+                sb.append(' ');
+                space = true;
+            }
+        }
+        int end = sb.length();
+        if (end > 0 && sb.charAt(end - 1) == ' ') sb.setLength(end - 1);
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static long bandHash(long[] signature, int band) {
+        long h = band;
+        for (int r = band * ROWS, end = r + ROWS; r < end; r++) {
+            h = mix(h * 31 + signature[r]);
+        }
+        return h;
+    }
+
+    private static double similarity(long[] a, long[] b) {
+        int same = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (a[i] == b[i]) same++;
+        }
+        return (double) same / HASHES;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
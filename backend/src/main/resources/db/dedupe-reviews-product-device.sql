@@ -0,0 +1,29 @@
+-- One-off cleanup for databases created before uk_reviews_product_device existed.
+-- With ddl-auto=update Hibernate cannot add the constraint while two reviews share a
+-- (product_id, device_id); it logs the failure and starts without it. This keeps the newest
+-- review of each pair, fixes the affected products' aggregates and adds the constraint.
+-- Run it with the backend stopped; review_summaries and product_review_stats rows of the
+-- affected products are dropped and rebuilt after startup.
+
+CREATE TEMPORARY TABLE dup_reviews AS
+SELECT r.id, r.product_id
+FROM reviews r
+WHERE r.device_id IS NOT NULL
+  AND EXISTS (SELECT 1 FROM reviews n
+              WHERE n.product_id = r.product_id AND n.device_id = r.device_id AND n.id > r.id);
+
+DELETE FROM review_helpful_votes WHERE review_id IN (SELECT id FROM dup_reviews);
+DELETE FROM reviews WHERE id IN (SELECT id FROM dup_reviews);
+
+UPDATE products p
+SET review_count = (SELECT COUNT(*) FROM reviews r WHERE r.product_id = p.id),
+    average_rating = COALESCE((SELECT ROUND(AVG(r.rating * 1.0), 1) FROM reviews r WHERE r.product_id = p.id), 0),
+    review_set_version = review_set_version + 1
+WHERE p.id IN (SELECT product_id FROM dup_reviews);
+
+DELETE FROM product_review_stats WHERE product_id IN (SELECT product_id FROM dup_reviews);
+DELETE FROM review_summaries WHERE product_id IN (SELECT product_id FROM dup_reviews);
+
+ALTER TABLE reviews ADD CONSTRAINT uk_reviews_product_device UNIQUE (product_id, device_id);
+
+DROP TABLE dup_reviews;
@@ -0,0 +1,217 @@
+package com.productreview.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.productreview.config.LlmProperties;
+import com.productreview.dto.CreateReviewDTO;
+import com.productreview.entity.Product;
+import com.productreview.llm.LlmStubServer;
+import com.productreview.repository.ProductRepository;
+import com.productreview.service.ReviewService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives /review-summary and /translate at a target rate against the embedded LLM stub, then
+ * prints latency percentiles, response sources and the cache/coalescing/breaker meters.
+ * Skipped unless -Dbench=true, e.g.
+ * <pre>
+ * mvn test -Dtest=LlmLoadBenchmark -Dbench=true -Dbench.rps=300 -Dbench.duration=30s \
+ *     -Dbench.stub.latency-median=800ms -Dbench.stub.error-rate=0.05
+ * </pre>
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "app.rate-limit.enabled=false",
+                "spring.jpa.show-sql=false",
+                "jwt.secret=benchmarkSecretKeyForProductReviewApp123456789",
+                "jwt.expiration=3600"
+        }
+)
+@ActiveProfiles("dev")
+@EnabledIfSystemProperty(named = "bench", matches = "true")
+class LlmLoadBenchmark {
+
+    private static final List<String> LANGS = List.of("en", "tr", "es");
+    private static final List<String> REVIEW_TEXTS = List.of(
+            "Battery lasts all day and the screen is bright, very happy with it.",
+            "Build quality feels cheap for the price, the plastic creaks.",
+            "Delivery was fast and the packaging was solid, no complaints.",
+            "Camera is great in daylight but struggles at night.",
+            "Easy to set up, the app works well and pairing was instant.",
+            "Too expensive compared to similar products, but it is well made.",
+            "Sound is clear and the bass is decent, comfortable for long use.",
+            "Stopped charging after two weeks, support was slow to respond."
+    );
+
+    private static final LlmStubServer STUB = startStub();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final OpenLoopDriver driver = new OpenLoopDriver();
+    private final int rps = Integer.getInteger("bench.rps", 100);
+    private final Duration duration = DurationStyle.detectAndParse(System.getProperty("bench.duration", "15s"));
+    private List<Long> productIds;
+
+    @DynamicPropertySource
+    static void pointLlmAtStub(DynamicPropertyRegistry registry) {
+        registry.add("app.llm.base-url", STUB::baseUrl);
+        registry.add("app.llm.api-key", () -> "bench");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        STUB.stop();
+    }
+
+    @BeforeEach
+    void seedReviews() {
+        int products = Integer.getInteger("bench.products", 20);
+        productIds = productRepository.findAll().stream().limit(products).map(Product::getId).toList();
+        for (Long productId : productIds) {
+            if (productRepository.findById(productId).orElseThrow().getReviewCount() > 0L) continue;
+            for (int i = 0; i < 24; i++) {
+                reviewService.createReview(new CreateReviewDTO(
+                        productId,
+                        REVIEW_TEXTS.get(i % REVIEW_TEXTS.size()),
+                        1 + (i % 5),
+                        "Bench " + i,
+                        "bench-device-" + productId + "-" + i
+                ));
+            }
+        }
+    }
+
+    @Test
+    void reviewSummary() throws Exception {
+        long stubBefore = STUB.requestCount();
+        OpenLoopDriver.Result result = driver.run("review-summary", rps, duration, i -> {
+            Long productId = productIds.get(ThreadLocalRandom.current().nextInt(productIds.size()));
+            String lang = LANGS.get(i % LANGS.size());
+            return HttpRequest.newBuilder(uri("/api/products/" + productId + "/review-summary?lang=" + lang))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+        }, body -> (body.contains("\"source\":\"AI\"") ? "AI" : "LOCAL") + (body.contains("\"stale\":true") ? "/stale" : ""));
+
+        report(result, STUB.requestCount() - stubBefore);
+        assertTrue(result.finished());
+    }
+
+    @Test
+    void translate() throws Exception {
+        String token = login();
+        long stubBefore = STUB.requestCount();
+        OpenLoopDriver.Result result = driver.run("translate", rps, duration, i -> {
+            // Half the batches repeat a small pool of texts so the translation cache gets hits.
+            List<String> texts = i % 2 == 0
+                    ? List.of(REVIEW_TEXTS.get(i % REVIEW_TEXTS.size()))
+                    : List.of(REVIEW_TEXTS.get(i % REVIEW_TEXTS.size()) + " #" + i, "Unique text number " + i);
+            String body;
+            try {
+                body = objectMapper.writeValueAsString(Map.of("lang", LANGS.get(1 + i % 2), "texts", texts));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return HttpRequest.newBuilder(uri("/api/translate"))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", "Bearer " + token)
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }, body -> body.contains("\"source\":\"AI\"") ? "AI" : "LOCAL");
+
+        report(result, STUB.requestCount() - stubBefore);
+        assertTrue(result.finished());
+    }
+
+    private void report(OpenLoopDriver.Result result, long stubRequests) {
+        Map<String, Double> meters = new TreeMap<>();
+        for (String name : List.of("review_summary.generations", "review_summary.refreshes", "review_summary.stale_served", "llm.calls")) {
+            for (Counter counter : meterRegistry.find(name).counters()) {
+                String tags = counter.getId().getTags().isEmpty() ? "" : counter.getId().getTags().toString();
+                meters.put(name + tags, counter.count());
+            }
+        }
+        System.out.println();
+        System.out.println(result.format());
+        System.out.println("  stub requests=" + stubRequests + " stub errors=" + STUB.errorCount());
+        meters.forEach((name, value) -> System.out.printf("  %s = %.0f%n", name, value));
+        System.out.println();
+    }
+
+    private String login() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        String credentials = objectMapper.writeValueAsString(Map.of(
+                "email", "bench-" + System.nanoTime() + "@example.com",
+                "password", "BenchPassword1!",
+                "fullName", "Bench Runner"
+        ));
+        client.send(post("/api/auth/register", credentials), HttpResponse.BodyHandlers.discarding());
+        HttpResponse<String> login = client.send(post("/api/auth/login", credentials), HttpResponse.BodyHandlers.ofString());
+        return objectMapper.readTree(login.body()).path("accessToken").asText();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static LlmStubServer startStub() {
+        LlmProperties.Stub config = new LlmProperties.Stub();
+        config.setPort(0);
+        config.setLatencyDistribution(LlmProperties.LatencyDistribution.valueOf(
+                System.getProperty("bench.stub.latency-distribution", "LOG_NORMAL")));
+        config.setLatencyMin(DurationStyle.detectAndParse(System.getProperty("bench.stub.latency-min", "50ms")));
+        config.setLatencyMedian(DurationStyle.detectAndParse(System.getProperty("bench.stub.latency-median", "400ms")));
+        config.setLatencyP99(DurationStyle.detectAndParse(System.getProperty("bench.stub.latency-p99", "2500ms")));
+        config.setErrorRate(Double.parseDouble(System.getProperty("bench.stub.error-rate", "0.0")));
+        LlmStubServer stub = new LlmStubServer(config);
+        try {
+            stub.start();
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not start LLM stub", e);
+        }
+        return stub;
+    }
+}
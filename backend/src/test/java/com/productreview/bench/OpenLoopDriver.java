@@ -0,0 +1,101 @@
+package com.productreview.bench;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Open-loop load generator: request i is due at {@code start + i / rps} whether or not earlier
+ * requests have finished, and its latency is measured from that due time, so a stalled server
+ * shows up in the percentiles instead of silently lowering the offered load.
+ */
+final class OpenLoopDriver {
+
+    Result run(String name, int rps, Duration duration, IntFunction<HttpRequest> requests,
+               Function<String, String> classifier) throws InterruptedException {
+        int total = (int) Math.max(1, rps * duration.toMillis() / 1000);
+        long intervalNanos = 1_000_000_000L / Math.max(1, rps);
+        long[] latencies = new long[total];
+        AtomicInteger completed = new AtomicInteger();
+        Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(total);
+
+        ExecutorService httpExecutor = Executors.newFixedThreadPool(8);
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(httpExecutor)
+                .build();
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor();
+        long start = System.nanoTime();
+        AtomicInteger next = new AtomicInteger();
+        ticker.scheduleAtFixedRate(() -> {
+            // Catch up on every request that became due since the last tick.
+            long due = (System.nanoTime() - start) / intervalNanos + 1;
+            int i;
+            while ((i = next.get()) < Math.min(due, total) && next.compareAndSet(i, i + 1)) {
+                int index = i;
+                long scheduledAt = start + index * intervalNanos;
+                client.sendAsync(requests.apply(index), HttpResponse.BodyHandlers.ofString())
+                        .whenComplete((response, error) -> {
+                            latencies[completed.getAndIncrement()] = System.nanoTime() - scheduledAt;
+                            String outcome = error != null
+                                    ? "error:" + error.getClass().getSimpleName()
+                                    : response.statusCode() + (response.statusCode() == 200 ? " " + classifier.apply(response.body()) : "");
+                            outcomes.computeIfAbsent(outcome, k -> new LongAdder()).increment();
+                            done.countDown();
+                        });
+            }
+        }, 0, 1, TimeUnit.MILLISECONDS);
+
+        boolean finished;
+        try {
+            finished = done.await(duration.toMillis() + 60_000, TimeUnit.MILLISECONDS);
+        } finally {
+            ticker.shutdownNow();
+            // Also abandons whatever is still in flight after a timeout.
+            httpExecutor.shutdownNow();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        long[] sorted = Arrays.copyOf(latencies, completed.get());
+        Arrays.sort(sorted);
+        Map<String, Long> counts = new TreeMap<>();
+        outcomes.forEach((k, v) -> counts.put(k, v.sum()));
+        return new Result(name, rps, total, sorted.length, elapsedNanos, sorted, counts, finished);
+    }
+
+    record Result(String name, int targetRps, int sent, int completed, long elapsedNanos,
+                  long[] sortedLatencies, Map<String, Long> outcomes, boolean finished) {
+
+        long percentileMillis(double p) {
+            if (sortedLatencies.length == 0) return 0;
+            int idx = (int) Math.ceil(p / 100.0 * sortedLatencies.length) - 1;
+            return TimeUnit.NANOSECONDS.toMillis(sortedLatencies[Math.max(0, Math.min(idx, sortedLatencies.length - 1))]);
+        }
+
+        String format() {
+            double achieved = completed * 1e9 / elapsedNanos;
+            return String.format(
+                    "%s: target=%d rps achieved=%.1f rps sent=%d completed=%d%s%n"
+                            + "  latency ms p50=%d p90=%d p99=%d p99.9=%d max=%d%n"
+                            + "  outcomes %s",
+                    name, targetRps, achieved, sent, completed, finished ? "" : " (TIMED OUT)",
+                    percentileMillis(50), percentileMillis(90), percentileMillis(99), percentileMillis(99.9),
+                    percentileMillis(100), outcomes);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.productreview.event;
+
+import com.productreview.service.OutboxService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ChangeEventDispatcherTest {
+
+    private static final int EVENTS = 600;
+
+    @Test
+    void poisonEventIsSkippedAfterMaxAttemptsWithoutStallingOtherSubscribers() {
+        List<ChangeEvent> outbox = new ArrayList<>();
+        for (long seq = 1; seq <= EVENTS; seq++) {
+            outbox.add(new ChangeEvent(seq, ChangeType.REVIEW_CREATED, 1L, seq, Map.of(), LocalDateTime.now()));
+        }
+        OutboxService outboxService = mock(OutboxService.class);
+        when(outboxService.latestSequence()).thenReturn(0L);
+        when(outboxService.readAfter(anyLong(), anyInt())).thenAnswer(inv -> {
+            long after = inv.getArgument(0);
+            int limit = inv.getArgument(1);
+            return outbox.stream().filter(e -> e.sequence() > after).limit(limit).toList();
+        });
+
+        RecordingSubscriber healthy = new RecordingSubscriber("healthy", -1);
+        RecordingSubscriber poisoned = new RecordingSubscriber("poisoned", 1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ChangeEventDispatcher dispatcher = new ChangeEventDispatcher(outboxService, List.of(healthy, poisoned), registry, 3, Duration.ofSeconds(60));
+
+        dispatcher.dispatch(); // starts both offsets at the head
+        for (int poll = 0; poll < 2; poll++) {
+            dispatcher.dispatch();
+            assertEquals(0L, dispatcher.offsetOf("poisoned"), "retried before the limit");
+        }
+        dispatcher.dispatch(); // third failure: skipped, the batch goes through
+        dispatcher.dispatch();
+
+        assertEquals(EVENTS, dispatcher.offsetOf("healthy"));
+        assertEquals(EVENTS, dispatcher.offsetOf("poisoned"));
+        assertEquals(EVENTS, healthy.seen.size());
+        assertEquals(EVENTS - 1, poisoned.seen.size());
+        assertEquals(3, poisoned.attempts);
+        assertEquals(1.0, registry.get("outbox.dispatch.skipped").tag("subscriber", "poisoned").counter().count());
+    }
+
+    @Test
+    void subscriberThatRecoversKeepsTheEvent() {
+        OutboxService outboxService = mock(OutboxService.class);
+        when(outboxService.latestSequence()).thenReturn(0L);
+        when(outboxService.readAfter(anyLong(), anyInt())).thenReturn(
+                List.of(new ChangeEvent(1L, ChangeType.REVIEW_CREATED, 1L, 1L, Map.of(), LocalDateTime.now())));
+
+        RecordingSubscriber flaky = new RecordingSubscriber("flaky", 1);
+        flaky.failuresLeft = 1;
+        ChangeEventDispatcher dispatcher = new ChangeEventDispatcher(outboxService, List.of(flaky), new SimpleMeterRegistry(), 3, Duration.ofSeconds(60));
+
+        dispatcher.dispatch();
+        dispatcher.dispatch();
+        assertEquals(0L, dispatcher.offsetOf("flaky"));
+        dispatcher.dispatch();
+
+        assertEquals(1L, dispatcher.offsetOf("flaky"));
+        assertEquals(List.of(1L), flaky.seen);
+    }
+
+    @Test
+    void readsPastAGapAndDeliversTheEventWhenItCommits() {
+        List<ChangeEvent> outbox = new ArrayList<>(List.of(event(1), event(3)));
+        OutboxService outboxService = outboxOver(outbox);
+        RecordingSubscriber subscriber = new RecordingSubscriber("live", -1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ChangeEventDispatcher dispatcher = new ChangeEventDispatcher(outboxService, List.of(subscriber), registry, 3, Duration.ofSeconds(60));
+
+        dispatcher.dispatch();
+        dispatcher.dispatch();
+        assertEquals(List.of(1L, 3L), subscriber.seen);
+
+        outbox.add(1, event(2)); // the transaction holding sequence 2 commits
+        dispatcher.dispatch();
+        dispatcher.dispatch();
+        assertEquals(List.of(1L, 3L, 2L), subscriber.seen);
+        assertEquals(1.0, registry.counter("outbox.gaps.filled").count());
+    }
+
+    @Test
+    void givesUpOnAGapAfterTheWindow() {
+        List<ChangeEvent> outbox = new ArrayList<>(List.of(event(1), event(3)));
+        OutboxService outboxService = outboxOver(outbox);
+        RecordingSubscriber subscriber = new RecordingSubscriber("live", -1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ChangeEventDispatcher dispatcher = new ChangeEventDispatcher(outboxService, List.of(subscriber), registry, 3, Duration.ofMillis(-1));
+
+        dispatcher.dispatch();
+        dispatcher.dispatch();
+        outbox.add(1, event(2));
+        dispatcher.dispatch();
+
+        assertEquals(List.of(1L, 3L), subscriber.seen);
+        assertEquals(1.0, registry.counter("outbox.gaps.expired").count());
+    }
+
+    private static ChangeEvent event(long sequence) {
+        return new ChangeEvent(sequence, ChangeType.REVIEW_CREATED, 1L, sequence, Map.of(), LocalDateTime.now());
+    }
+
+    private static OutboxService outboxOver(List<ChangeEvent> outbox) {
+        OutboxService outboxService = mock(OutboxService.class);
+        when(outboxService.latestSequence()).thenReturn(0L);
+        when(outboxService.readAfter(anyLong(), anyInt())).thenAnswer(inv -> {
+            long after = inv.getArgument(0);
+            int limit = inv.getArgument(1);
+            return outbox.stream().filter(e -> e.sequence() > after).limit(limit).toList();
+        });
+        when(outboxService.readSequences(anyCollection())).thenAnswer(inv -> {
+            Collection<Long> sequences = inv.getArgument(0);
+            return outbox.stream().filter(e -> sequences.contains(e.sequence())).toList();
+        });
+        return outboxService;
+    }
+
+    private static final class RecordingSubscriber implements ChangeEventSubscriber {
+        private final String name;
+        private final long failOn;
+        private final List<Long> seen = new ArrayList<>();
+        private int attempts;
+        private int failuresLeft = Integer.MAX_VALUE;
+
+        RecordingSubscriber(String name, long failOn) {
+            this.name = name;
+            this.failOn = failOn;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public void onEvent(ChangeEvent event) {
+            if (event.sequence() == failOn && failuresLeft > 0) {
+                attempts++;
+                failuresLeft--;
+                throw new IllegalStateException("poison " + event.sequence());
+            }
+            seen.add(event.sequence());
+        }
+    }
+}
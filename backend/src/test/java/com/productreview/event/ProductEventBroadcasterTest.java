@@ -0,0 +1,79 @@
+package com.productreview.event;
+
+import com.productreview.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductEventBroadcasterTest {
+
+    @Test
+    void parkedWatcherIsDroppedWithoutStallingOtherWatchers() throws Exception {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.existsById(anyLong())).thenReturn(true);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CountDownLatch unpark = new CountDownLatch(1);
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+
+        // One sender thread: without a send deadline the parked watcher would hold it for good.
+        ProductEventBroadcaster broadcaster = new ProductEventBroadcaster(
+                productRepository, registry, 64, Duration.ofMinutes(1), 100, 1, Duration.ofMillis(200)) {
+            private int created;
+
+            @Override
+            SseEmitter newEmitter(long timeoutMillis) {
+                boolean parked = created++ == 0;
+                return new SseEmitter(timeoutMillis) {
+                    @Override
+                    public synchronized void send(Set<DataWithMediaType> items) throws IOException {
+                        if (parked) {
+                            try {
+                                // A client whose socket buffer is full.
+                                unpark.await();
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                            return;
+                        }
+                        received.add(items.iterator().next().getData().toString());
+                    }
+                };
+            }
+        };
+        try {
+            broadcaster.subscribe(1L);
+            broadcaster.subscribe(1L);
+            broadcaster.subscribe(2L);
+
+            for (long seq = 1; seq <= 5; seq++) {
+                broadcaster.onEvent(new ChangeEvent(seq, ChangeType.REVIEW_CREATED, 1L + seq % 2, seq, Map.of(), LocalDateTime.now()));
+            }
+
+            // Two "ready" frames plus one frame per event.
+            for (int i = 0; i < 7; i++) {
+                assertNotNull(received.poll(5, TimeUnit.SECONDS), "frame " + i + " not delivered");
+            }
+            assertEquals(1.0, registry.get("sse.watchers.dropped").tag("reason", "send_timeout").counter().count());
+            assertEquals(2.0, registry.get("sse.watchers").gauge().value());
+        } finally {
+            unpark.countDown();
+            broadcaster.shutdown();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.productreview.service;
+
+import com.productreview.entity.Product;
+import com.productreview.entity.Review;
+import com.productreview.repository.ProductRepository;
+import com.productreview.repository.ReviewHelpfulVoteRepository;
+import com.productreview.repository.ReviewRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("dev")
+class HelpfulToggleConcurrencyTest {
+
+    private static final int TOGGLERS = 64;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private ReviewHelpfulVoteRepository reviewHelpfulVoteRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void parallelTogglersProduceExactCounts() throws Exception {
+        Product product = productRepository.findAll().get(0);
+        Review review = new Review();
+        review.setProduct(product);
+        review.setComment("Concurrency stress review");
+        review.setRating(5);
+        review.setReviewerName("Stress");
+        Long reviewId = reviewRepository.save(review).getId();
+
+        toggleAllInParallel(reviewId);
+        assertEquals(TOGGLERS, reviewRepository.findHelpfulCountById(reviewId).orElseThrow());
+        assertEquals(TOGGLERS, reviewHelpfulVoteRepository.countByReviewId(reviewId));
+
+        toggleAllInParallel(reviewId);
+        assertEquals(0L, reviewRepository.findHelpfulCountById(reviewId).orElseThrow());
+        assertEquals(0L, reviewHelpfulVoteRepository.countByReviewId(reviewId));
+    }
+
+    private void toggleAllInParallel(Long reviewId) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(TOGGLERS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < TOGGLERS; i++) {
+                String deviceId = "stress-device-" + i;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return reviewService.toggleHelpful(reviewId, deviceId);
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
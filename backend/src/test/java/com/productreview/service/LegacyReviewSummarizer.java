@@ -0,0 +1,145 @@
+package com.productreview.service;
+
+import com.productreview.dto.ReviewSummaryDTO;
+import com.productreview.entity.Review;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The keyword summarizer {@link LocalReviewSummarizer} replaced, kept verbatim as the baseline for
+ * {@link LocalReviewSummarizerBenchmark} and the parity check in {@link LocalReviewSummarizerTest}.
+ */
+final class LegacyReviewSummarizer {
+
+    private LegacyReviewSummarizer() {
+    }
+
+    static ReviewSummaryDTO summarize(String category, List<Review> reviews, String lang) {
+        Map<String, Integer> topicCounts = new LinkedHashMap<>();
+        for (String k : topicLabels().keySet()) {
+            topicCounts.put(k, 0);
+        }
+
+        List<String> pros = new ArrayList<>();
+        List<String> cons = new ArrayList<>();
+
+        for (Review r : reviews) {
+            if (r == null) continue;
+            String comment = r.getComment();
+            if (comment == null) continue;
+            String text = comment.toLowerCase();
+
+            String snippet = firstSentence(comment);
+
+            if (r.getRating() != null && r.getRating() >= 4 && pros.size() < 3) {
+                if (snippet != null && !pros.contains(snippet)) pros.add(snippet);
+            }
+            if (r.getRating() != null && r.getRating() <= 2 && cons.size() < 3) {
+                if (snippet != null && !cons.contains(snippet)) cons.add(snippet);
+            }
+
+            for (Map.Entry<String, List<String>> e : topicKeywords(category).entrySet()) {
+                String topicKey = e.getKey();
+                for (String kw : e.getValue()) {
+                    if (kw == null || kw.isEmpty()) continue;
+                    if (text.contains(kw)) {
+                        topicCounts.put(topicKey, (topicCounts.getOrDefault(topicKey, 0) + 1));
+                        break;
+                    }
+                }
+            }
+        }
+
+        List<String> topTopics = new ArrayList<>();
+        topicCounts.entrySet().stream()
+                .sorted((a, b) -> Integer.compare(b.getValue(), a.getValue()))
+                .filter(e -> e.getValue() > 0)
+                .limit(5)
+                .forEach(e -> topTopics.add(topicLabel(lang, e.getKey())));
+
+        String posTopic = topTopics.size() > 0 ? topTopics.get(0) : null;
+        String negTopic = topTopics.size() > 1 ? topTopics.get(1) : null;
+
+        String takeaway;
+        if (posTopic != null && negTopic != null) {
+            takeaway = "Most users mention " + posTopic + " positively, while " + negTopic + " is a common complaint.";
+        } else if (posTopic != null) {
+            takeaway = "Most users mention " + posTopic + " positively.";
+        } else {
+            takeaway = "Reviews mention mixed experiences.";
+        }
+        return new ReviewSummaryDTO(takeaway, pros, cons, topTopics);
+    }
+
+    private static String firstSentence(String text) {
+        if (text == null) return null;
+        String t = text.replace("\r", " ").replace("\n", " ").trim();
+        if (t.isEmpty()) return null;
+        String[] parts = t.split("[.!?]");
+        String s = parts.length > 0 ? parts[0].trim() : t;
+        if (s.length() > 90) s = s.substring(0, 90) + "…";
+        return s.isEmpty() ? null : s;
+    }
+
+    private static Map<String, Map<String, String>> topicLabels() {
+        Map<String, Map<String, String>> labels = new LinkedHashMap<>();
+        labels.put("battery", Map.of("en", "Battery", "tr", "Batarya", "es", "Batería"));
+        labels.put("performance", Map.of("en", "Performance", "tr", "Performans", "es", "Rendimiento"));
+        labels.put("price", Map.of("en", "Price", "tr", "Fiyat", "es", "Precio"));
+        labels.put("build", Map.of("en", "Build quality", "tr", "Malzeme kalitesi", "es", "Calidad de construcción"));
+        labels.put("camera", Map.of("en", "Camera", "tr", "Kamera", "es", "Cámara"));
+        labels.put("delivery", Map.of("en", "Delivery", "tr", "Kargo", "es", "Envío"));
+        labels.put("packaging", Map.of("en", "Packaging", "tr", "Paketleme", "es", "Embalaje"));
+        labels.put("comfort", Map.of("en", "Comfort", "tr", "Konfor", "es", "Comodidad"));
+        labels.put("usability", Map.of("en", "Usability", "tr", "Kullanım", "es", "Usabilidad"));
+        return labels;
+    }
+
+    private static String topicLabel(String lang, String topicKey) {
+        Map<String, String> m = topicLabels().get(topicKey);
+        if (m == null) return topicKey;
+        return m.getOrDefault(lang, m.get("en"));
+    }
+
+    private static Map<String, List<String>> topicKeywords(String category) {
+        String c = category == null ? "" : category.toLowerCase();
+        Map<String, List<String>> kws = new LinkedHashMap<>();
+        if (c.contains("electronics")) {
+            kws.put("battery", List.of("battery", "batarya", "pil", "charge", "şarj", "bateria", "carga"));
+            kws.put("performance", List.of("performance", "speed", "fast", "performans", "hız", "rapido", "rendimiento"));
+            kws.put("camera", List.of("camera", "kamera", "cámara", "photo", "foto"));
+            kws.put("build", List.of("build", "quality", "malzeme", "kalite", "construction", "construcción"));
+            kws.put("price", List.of("price", "fiyat", "precio", "expensive", "pahalı", "caro"));
+            kws.put("delivery", List.of("delivery", "shipping", "kargo", "envío"));
+            kws.put("packaging", List.of("package", "packaging", "paket", "embalaje"));
+            kws.put("usability", List.of("usability", "easy", "kullanım", "kolay", "usabilidad"));
+            return kws;
+        }
+        if (c.contains("clothing")) {
+            kws.put("comfort", List.of("comfortable", "comfort", "konfor", "rahat", "comodidad"));
+            kws.put("build", List.of("fabric", "quality", "kumaş", "kalite", "tela", "calidad"));
+            kws.put("price", List.of("price", "fiyat", "precio", "expensive", "pahalı", "caro"));
+            kws.put("delivery", List.of("delivery", "shipping", "kargo", "envío"));
+            kws.put("packaging", List.of("package", "packaging", "paket", "embalaje"));
+            kws.put("usability", List.of("fit", "size", "beden", "uyum", "talla", "ajuste"));
+            return kws;
+        }
+        if (c.contains("books")) {
+            kws.put("usability", List.of("translation", "çeviri", "traducción", "writing", "yazım", "prose", "estilo"));
+            kws.put("build", List.of("cover", "kapak", "paper", "kağıt", "portada", "papel"));
+            kws.put("price", List.of("price", "fiyat", "precio", "expensive", "pahalı", "caro"));
+            kws.put("delivery", List.of("delivery", "shipping", "kargo", "envío"));
+            kws.put("packaging", List.of("package", "packaging", "paket", "embalaje"));
+            return kws;
+        }
+        kws.put("build", List.of("quality", "kalite", "calidad", "material", "malzeme"));
+        kws.put("price", List.of("price", "fiyat", "precio", "expensive", "pahalı", "caro"));
+        kws.put("delivery", List.of("delivery", "shipping", "kargo", "envío"));
+        kws.put("packaging", List.of("package", "packaging", "paket", "embalaje"));
+        kws.put("usability", List.of("easy", "kolay", "usabilidad", "usable"));
+        return kws;
+    }
+}
@@ -0,0 +1,95 @@
+package com.productreview.service;
+
+import com.productreview.dto.ReviewSummaryDTO;
+import com.productreview.entity.Review;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compiled keyword matcher vs. the previous per-review map building and nested
+ * {@code contains} loops, over 100 reviews. Skipped unless -Dbench=true:
+ * <pre>
+ * mvn test -Dtest=LocalReviewSummarizerBenchmark -Dbench=true
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocalReviewSummarizerBenchmark {
+
+    static final String[] COMMENTS = {
+            "Battery lasts all day and charging is fast. Really happy with it!",
+            "The camera takes great photos in daylight but struggles at night.",
+            "Build quality feels cheap for the price, the plastic creaks.",
+            "Delivery was quick and the packaging kept everything safe.",
+            "Performans çok iyi, batarya da iki gün gidiyor. Fiyatı biraz pahalı.",
+            "Kargo geç geldi ama paket sağlamdı.",
+            "La batería dura poco y la cámara es mediocre para el precio.",
+            "Muy fácil de usar, el rendimiento es rápido y el envío llegó a tiempo.",
+            "Stopped working after two weeks, support never answered my emails.",
+            "Easy setup, great speed, would buy again."
+    };
+
+    @Param({"Electronics", "Clothing", "Books"})
+    public String category;
+
+    private List<Review> reviews;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        reviews = new ArrayList<>(100);
+        for (int i = 0; i < 100; i++) {
+            Review review = new Review();
+            review.setComment(COMMENTS[random.nextInt(COMMENTS.length)] + " Review #" + i + ".");
+            review.setRating(1 + random.nextInt(5));
+            reviews.add(review);
+        }
+        ReviewSummaryDTO expected = LegacyReviewSummarizer.summarize(category, reviews, "en");
+        ReviewSummaryDTO actual = LocalReviewSummarizer.summarize(category, reviews, "en");
+        if (!expected.equals(actual)) {
+            throw new IllegalStateException("Compiled summarizer diverged: " + expected + " vs " + actual);
+        }
+    }
+
+    @Benchmark
+    public ReviewSummaryDTO compiled() {
+        return LocalReviewSummarizer.summarize(category, reviews, "en");
+    }
+
+    @Benchmark
+    public ReviewSummaryDTO legacy() {
+        return LegacyReviewSummarizer.summarize(category, reviews, "en");
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "bench", matches = "true")
+    void run() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(LocalReviewSummarizerBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
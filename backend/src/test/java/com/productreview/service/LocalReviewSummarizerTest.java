@@ -0,0 +1,79 @@
+package com.productreview.service;
+
+import com.productreview.dto.ReviewSummaryDTO;
+import com.productreview.entity.Review;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LocalReviewSummarizerTest {
+
+    private static final List<String> CATEGORIES = List.of("Electronics", "Home Clothing", "Books", "Garden");
+
+    @Test
+    void matchesLegacySummarizerOnRandomReviews() {
+        for (String category : CATEGORIES) {
+            for (long seed = 1; seed <= 20; seed++) {
+                List<Review> reviews = randomReviews(new Random(seed), 1 + (int) seed * 5);
+                assertParity(category, reviews, "en");
+                assertSameTopicsAndSnippets(category, reviews, "tr");
+            }
+        }
+    }
+
+    @Test
+    void matchesLegacySummarizerOnEdgeCases() {
+        for (String category : CATEGORIES) {
+            assertParity(category, List.of(), "en");
+            assertParity(category, Arrays.asList(
+                    null,
+                    review(null, 5),
+                    review("", 1),
+                    review("   ", 4),
+                    review("Great camera and battery", null),
+                    review("No punctuation at all", 5),
+                    review("No punctuation at all", 4),
+                    review("!!!", 2)), "en");
+        }
+    }
+
+    private static void assertParity(String category, List<Review> reviews, String lang) {
+        ReviewSummaryDTO expected = LegacyReviewSummarizer.summarize(category, reviews, lang);
+        ReviewSummaryDTO actual = LocalReviewSummarizer.summarize(category, reviews, lang);
+        assertEquals(expected, actual, () -> category + "/" + lang + " " + reviews.size() + " reviews");
+    }
+
+    // The legacy takeaway sentence was English only; everything else was already localized.
+    private static void assertSameTopicsAndSnippets(String category, List<Review> reviews, String lang) {
+        ReviewSummaryDTO expected = LegacyReviewSummarizer.summarize(category, reviews, lang);
+        ReviewSummaryDTO actual = LocalReviewSummarizer.summarize(category, reviews, lang);
+        assertEquals(expected.getTopTopics(), actual.getTopTopics());
+        assertEquals(expected.getPros(), actual.getPros());
+        assertEquals(expected.getCons(), actual.getCons());
+    }
+
+    private static List<Review> randomReviews(Random random, int count) {
+        String[] comments = LocalReviewSummarizerBenchmark.COMMENTS;
+        List<Review> reviews = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String comment = comments[random.nextInt(comments.length)];
+            if (random.nextBoolean()) comment = comment.toUpperCase(Locale.ROOT);
+            if (random.nextInt(3) == 0) comment = comment + " " + comments[random.nextInt(comments.length)];
+            reviews.add(review(comment, random.nextInt(6) == 0 ? null : 1 + random.nextInt(5)));
+        }
+        return reviews;
+    }
+
+    private static Review review(String comment, Integer rating) {
+        Review review = new Review();
+        review.setComment(comment);
+        review.setRating(rating);
+        return review;
+    }
+}
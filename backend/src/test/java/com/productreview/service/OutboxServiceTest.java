@@ -0,0 +1,57 @@
+package com.productreview.service;
+
+import com.productreview.entity.OutboxEvent;
+import com.productreview.event.ChangeEvent;
+import com.productreview.event.ChangeType;
+import com.productreview.repository.OutboxEventRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OutboxServiceTest {
+
+    private final OutboxEventRepository repository = mock(OutboxEventRepository.class);
+    private final OutboxService outboxService = new OutboxService(repository, Duration.ofSeconds(5), Duration.ofDays(7));
+
+    @Test
+    void stopsAtARecentGapAndSaysWhenToRetry() {
+        LocalDateTime now = LocalDateTime.now();
+        when(repository.findAfter(eq(0L), any())).thenReturn(List.of(row(1, now), row(3, now.minusSeconds(2)), row(4, now)));
+
+        OutboxService.CommittedPage page = outboxService.readCommittedAfter(0L, 10);
+
+        assertEquals(List.of(1L), sequences(page.events()));
+        assertTrue(page.stoppedAtGap());
+        assertTrue(page.retryAfterMillis() > 2_000 && page.retryAfterMillis() <= 3_000, "retry after " + page.retryAfterMillis());
+    }
+
+    @Test
+    void stepsOverAGapOlderThanTheGrace() {
+        LocalDateTime now = LocalDateTime.now();
+        when(repository.findAfter(eq(0L), any())).thenReturn(List.of(row(1, now.minusMinutes(1)), row(3, now.minusSeconds(10)), row(4, now)));
+
+        OutboxService.CommittedPage page = outboxService.readCommittedAfter(0L, 10);
+
+        assertEquals(List.of(1L, 3L, 4L), sequences(page.events()));
+        assertFalse(page.stoppedAtGap());
+        assertEquals(0L, page.retryAfterMillis());
+    }
+
+    private static OutboxEvent row(long id, LocalDateTime createdAt) {
+        return new OutboxEvent(id, ChangeType.REVIEW_CREATED, 1L, id, "{}", createdAt);
+    }
+
+    private static List<Long> sequences(List<ChangeEvent> events) {
+        return events.stream().map(ChangeEvent::sequence).toList();
+    }
+}
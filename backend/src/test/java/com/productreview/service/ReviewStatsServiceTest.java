@@ -0,0 +1,176 @@
+package com.productreview.service;
+
+import com.productreview.entity.Product;
+import com.productreview.entity.ProductReviewStats;
+import com.productreview.entity.Review;
+import com.productreview.repository.ProductRepository;
+import com.productreview.repository.ProductReviewStatsRepository;
+import com.productreview.repository.ReviewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import static com.productreview.service.ReviewTopicStatsTest.ids;
+import static com.productreview.service.ReviewTopicStatsTest.topic;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs {@link ReviewStatsService} against in-memory stand-ins for the reviews table and the
+ * stats row, so each test can check the counters and snippets after a sequence of writes.
+ */
+class ReviewStatsServiceTest {
+
+    private static final long PRODUCT_ID = 1L;
+
+    private final ProductReviewStatsRepository statsRepository = mock(ProductReviewStatsRepository.class);
+    private final ReviewRepository reviewRepository = mock(ReviewRepository.class);
+    private final ReviewStatsService service =
+            new ReviewStatsService(statsRepository, reviewRepository, mock(ProductRepository.class));
+
+    private final Product product = new Product();
+    private final List<Review> reviews = new ArrayList<>();
+    private ProductReviewStats row;
+    private long nextId = 1L;
+
+    @BeforeEach
+    void setUp() {
+        product.setId(PRODUCT_ID);
+        product.setCategory("Electronics");
+        when(statsRepository.findById(PRODUCT_ID)).thenAnswer(inv -> Optional.ofNullable(row));
+        when(statsRepository.saveAndFlush(any())).thenAnswer(inv -> row = inv.getArgument(0));
+        when(reviewRepository.findCommentRowsAfter(eq(PRODUCT_ID), anyLong(), any(Pageable.class))).thenAnswer(inv -> {
+            long afterId = inv.getArgument(1);
+            return reviews.stream()
+                    .filter(r -> r.getId() > afterId)
+                    .sorted(Comparator.comparing(Review::getId))
+                    .map(r -> new Object[]{r.getId(), r.getComment(), r.getRating()})
+                    .toList();
+        });
+        when(reviewRepository.findLatestCommentsByRating(eq(PRODUCT_ID), anyInt(), anyInt(), any(Pageable.class))).thenAnswer(inv -> {
+            int min = inv.getArgument(1);
+            int max = inv.getArgument(2);
+            return reviews.stream()
+                    .filter(r -> r.getComment() != null && r.getRating() >= min && r.getRating() <= max)
+                    .sorted(Comparator.comparing(Review::getCreatedAt).thenComparing(Review::getId).reversed())
+                    .map(r -> new Object[]{r.getId(), r.getComment()})
+                    .toList();
+        });
+    }
+
+    @Test
+    void keepsCountersInStepWithCreatesUpdatesAndDeletes() {
+        Review praise = create("Battery lasts two days", 5);
+        Review complaint = create("Battery died after a week", 1);
+
+        int battery = topic("battery");
+        int camera = topic("camera");
+        ReviewTopicStats stats = service.find(PRODUCT_ID).orElseThrow();
+        assertEquals(2, stats.commentedReviews);
+        assertEquals(2, stats.mentions[battery]);
+        assertEquals(1, stats.positive[battery]);
+        assertEquals(1, stats.negative[battery]);
+
+        update(praise, "Camera photos are blurry", 2);
+        stats = service.find(PRODUCT_ID).orElseThrow();
+        assertEquals(2, stats.commentedReviews);
+        assertEquals(1, stats.mentions[battery]);
+        assertEquals(0, stats.positive[battery]);
+        assertEquals(1, stats.negative[battery]);
+        assertEquals(1, stats.mentions[camera]);
+        assertEquals(1, stats.negative[camera]);
+
+        delete(complaint);
+        stats = service.find(PRODUCT_ID).orElseThrow();
+        assertEquals(1, stats.commentedReviews);
+        assertEquals(0, stats.mentions[battery]);
+        assertEquals(0, stats.negative[battery]);
+        assertEquals(1, stats.mentions[camera]);
+        assertEquals(List.of(praise.getId()), ids(stats.cons));
+    }
+
+    @Test
+    void snippetsStayNewestFirstWhenAnOldReviewIsEdited() {
+        Review oldest = create("First one", 5);
+        Review older = create("Second one", 5);
+        Review newer = create("Third one", 4);
+        Review newest = create("Fourth one", 5);
+        assertEquals(List.of(newest.getId(), newer.getId(), older.getId()), ids(service.find(PRODUCT_ID).orElseThrow().pros));
+
+        update(oldest, "First one, edited", 5);
+        assertEquals(List.of(newest.getId(), newer.getId(), older.getId()), ids(service.find(PRODUCT_ID).orElseThrow().pros));
+
+        update(newer, "Third one, edited", 5);
+        ReviewTopicStats stats = service.find(PRODUCT_ID).orElseThrow();
+        assertEquals(List.of(newest.getId(), newer.getId(), older.getId()), ids(stats.pros));
+        assertEquals("Third one, edited", stats.pros.get(1).text());
+
+        update(newest, "Fourth one, now bad", 1);
+        stats = service.find(PRODUCT_ID).orElseThrow();
+        assertEquals(List.of(newer.getId(), older.getId(), oldest.getId()), ids(stats.pros));
+        assertEquals(List.of(newest.getId()), ids(stats.cons));
+    }
+
+    @Test
+    void losingTheFirstInsertRaceIsRetriedAsAnOptimisticLockFailure() {
+        Review review = add("Battery lasts two days", 5);
+        doThrow(new DataIntegrityViolationException("duplicate key")).when(statsRepository).saveAndFlush(any());
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> service.reviewCreated(product, review));
+    }
+
+    @Test
+    void otherIntegrityViolationsOnAnExistingRowPropagate() {
+        create("Battery lasts two days", 5);
+        Review review = add("Camera is sharp", 5);
+        doThrow(new DataIntegrityViolationException("value too long")).when(statsRepository).saveAndFlush(any());
+
+        assertThrows(DataIntegrityViolationException.class, () -> service.reviewCreated(product, review));
+    }
+
+    private Review add(String comment, int rating) {
+        Review review = new Review();
+        review.setId(nextId);
+        review.setProduct(product);
+        review.setComment(comment);
+        review.setRating(rating);
+        review.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(nextId));
+        nextId++;
+        reviews.add(review);
+        return review;
+    }
+
+    private Review create(String comment, int rating) {
+        Review review = add(comment, rating);
+        service.reviewCreated(product, review);
+        return review;
+    }
+
+    private void update(Review review, String comment, int rating) {
+        String previousComment = review.getComment();
+        Integer previousRating = review.getRating();
+        review.setComment(comment);
+        review.setRating(rating);
+        service.reviewUpdated(product, review, previousComment, previousRating);
+    }
+
+    private void delete(Review review) {
+        reviews.remove(review);
+        service.reviewDeleted(product, review);
+    }
+}
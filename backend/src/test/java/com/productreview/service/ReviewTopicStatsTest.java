@@ -0,0 +1,112 @@
+package com.productreview.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReviewTopicStatsTest {
+
+    private static final String ELECTRONICS = "Electronics";
+
+    @Test
+    void countsMentionsAndSplitsThemByRating() {
+        ReviewTopicStats stats = new ReviewTopicStats();
+        stats.count(ELECTRONICS, "Battery lasts long", 5, 1);
+        stats.count(ELECTRONICS, "Battery died in a week", 1, 1);
+        stats.count(ELECTRONICS, "Battery is fine", 3, 1);
+
+        int battery = topic("battery");
+        assertEquals(3, stats.commentedReviews);
+        assertEquals(3, stats.mentions[battery]);
+        assertEquals(1, stats.positive[battery]);
+        assertEquals(1, stats.negative[battery]);
+    }
+
+    @Test
+    void removingAReviewUndoesItsCountsAndNeverGoesNegative() {
+        ReviewTopicStats stats = new ReviewTopicStats();
+        stats.count(ELECTRONICS, "Camera is sharp", 5, 1);
+        stats.count(ELECTRONICS, "Camera is sharp", 5, -1);
+        stats.count(ELECTRONICS, "Camera is sharp", 5, -1);
+
+        int camera = topic("camera");
+        assertEquals(0, stats.commentedReviews);
+        assertEquals(0, stats.mentions[camera]);
+        assertEquals(0, stats.positive[camera]);
+    }
+
+    @Test
+    void ignoresReviewsWithoutAComment() {
+        ReviewTopicStats stats = new ReviewTopicStats();
+        stats.count(ELECTRONICS, null, 5, 1);
+        stats.count(ELECTRONICS, "   ", 1, 1);
+
+        assertEquals(0, stats.commentedReviews);
+    }
+
+    @Test
+    void offerNewestPutsSnippetsFirstSkipsRepeatsAndKeepsTheNewestThree() {
+        ReviewTopicStats stats = new ReviewTopicStats();
+        stats.offerNewest(1L, "One. More", 5);
+        stats.offerNewest(2L, "Two", 4);
+        stats.offerNewest(3L, "Two! Again", 5);
+        stats.offerNewest(4L, "Three", 5);
+        stats.offerNewest(5L, "Four", 5);
+        stats.offerNewest(6L, "Neutral", 3);
+        stats.offerNewest(7L, "Bad", 1);
+
+        assertEquals(List.of(5L, 4L, 2L), ids(stats.pros));
+        assertEquals(List.of("Four", "Three", "Two"), stats.pros.stream().map(ReviewTopicStats.Snippet::text).toList());
+        assertEquals(List.of(7L), ids(stats.cons));
+    }
+
+    @Test
+    void offerOlderAppendsUntilFull() {
+        List<ReviewTopicStats.Snippet> target = new ArrayList<>();
+        assertTrue(ReviewTopicStats.offerOlder(target, 9L, "Newest"));
+        assertTrue(ReviewTopicStats.offerOlder(target, 8L, "Newest. Repeated"));
+        assertTrue(ReviewTopicStats.offerOlder(target, 7L, null));
+        assertTrue(ReviewTopicStats.offerOlder(target, 6L, "Middle"));
+        assertFalse(ReviewTopicStats.offerOlder(target, 5L, "Oldest"));
+        assertFalse(ReviewTopicStats.offerOlder(target, 4L, "Too old"));
+
+        assertEquals(List.of(9L, 6L, 5L), ids(target));
+    }
+
+    @Test
+    void removeSnippetReportsWhetherAListChanged() {
+        ReviewTopicStats stats = new ReviewTopicStats();
+        stats.offerNewest(1L, "Great", 5);
+        stats.offerNewest(2L, "Awful", 1);
+
+        assertTrue(stats.removeSnippet(2L));
+        assertFalse(stats.removeSnippet(2L));
+        assertEquals(List.of(1L), ids(stats.pros));
+        assertTrue(stats.cons.isEmpty());
+    }
+
+    @Test
+    void onlyRatedCommentsAreSnippetCandidates() {
+        assertTrue(ReviewTopicStats.isSnippetCandidate("Great", 5));
+        assertTrue(ReviewTopicStats.isSnippetCandidate("Awful", 2));
+        assertFalse(ReviewTopicStats.isSnippetCandidate("Fine", 3));
+        assertFalse(ReviewTopicStats.isSnippetCandidate("  ", 5));
+        assertFalse(ReviewTopicStats.isSnippetCandidate("Great", null));
+    }
+
+    static int topic(String key) {
+        for (int t = 0; t < LocalReviewSummarizer.topicCount(); t++) {
+            if (LocalReviewSummarizer.topicKey(t).equals(key)) return t;
+        }
+        throw new IllegalArgumentException(key);
+    }
+
+    static List<Long> ids(List<ReviewTopicStats.Snippet> snippets) {
+        return snippets.stream().map(ReviewTopicStats.Snippet::reviewId).toList();
+    }
+}
@@ -0,0 +1,60 @@
+package com.productreview.service;
+
+import com.productreview.dto.SyncResponseDTO;
+import com.productreview.event.ChangeEvent;
+import com.productreview.event.ChangeType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SyncServiceTest {
+
+    private final OutboxService outboxService = mock(OutboxService.class);
+    private final ProductService productService = mock(ProductService.class);
+    private final ReviewService reviewService = mock(ReviewService.class);
+    private final SyncService syncService = new SyncService(outboxService, productService, reviewService);
+
+    @Test
+    void reportsMoreWhenThePageStoppedAtAGap() {
+        when(outboxService.latestSequence()).thenReturn(12L);
+        when(outboxService.readCommittedAfter(eq(5L), anyInt()))
+                .thenReturn(new OutboxService.CommittedPage(List.of(event(6)), 1_500L));
+        when(productService.getProductsByIds(any())).thenReturn(List.of());
+        when(reviewService.getReviewsByIds(any())).thenReturn(List.of());
+
+        SyncResponseDTO response = syncService.sync("5", 100);
+
+        assertEquals("6", response.getNextToken());
+        assertTrue(response.isHasMore());
+        assertEquals(1_500L, response.getRetryAfterMillis());
+    }
+
+    @Test
+    void reportsNoMoreAfterAShortPageWithoutAGap() {
+        when(outboxService.latestSequence()).thenReturn(6L);
+        when(outboxService.readCommittedAfter(eq(5L), anyInt()))
+                .thenReturn(new OutboxService.CommittedPage(List.of(event(6)), 0L));
+        when(productService.getProductsByIds(any())).thenReturn(List.of());
+        when(reviewService.getReviewsByIds(any())).thenReturn(List.of());
+
+        SyncResponseDTO response = syncService.sync("5", 100);
+
+        assertFalse(response.isHasMore());
+        assertEquals(0L, response.getRetryAfterMillis());
+    }
+
+    private static ChangeEvent event(long sequence) {
+        return new ChangeEvent(sequence, ChangeType.REVIEW_CREATED, 1L, sequence, Map.of(), LocalDateTime.now());
+    }
+}
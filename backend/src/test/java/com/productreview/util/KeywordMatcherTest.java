@@ -0,0 +1,135 @@
+package com.productreview.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeywordMatcherTest {
+
+    @Test
+    void reportsEveryGroupWhoseKeywordsOccur() {
+        KeywordMatcher matcher = KeywordMatcher.compile(List.of(
+                List.of("battery", "charge"),
+                List.of("camera"),
+                List.of("price")));
+
+        assertEquals(0b011, matcher.matchGroups("Camera is good, battery too"));
+        assertEquals(0b100, matcher.matchGroups("worth the price"));
+        assertEquals(0L, matcher.matchGroups("nothing to see here"));
+        assertEquals(0L, matcher.matchGroups(""));
+        assertEquals(0L, matcher.matchGroups(null));
+    }
+
+    @Test
+    void findsOverlappingAndNestedKeywords() {
+        KeywordMatcher matcher = KeywordMatcher.compile(List.of(
+                List.of("package"),
+                List.of("packaging"),
+                List.of("age"),
+                List.of("kaging"),
+                List.of("he", "she", "hers")));
+
+        // "packaging" is not "package" plus a suffix, so only the longer keyword and its tail match.
+        assertEquals(0b01010, matcher.matchGroups("packaging"));
+        assertEquals(0b00101, matcher.matchGroups("package"));
+        // Aho-Corasick's classic case: "ushers" holds "she", "he" and "hers" in one overlapping run.
+        assertEquals(0b10000, matcher.matchGroups("ushers"));
+        // A failed long match must fall back to the shorter keyword ending at the same place.
+        assertEquals(0b00100, matcher.matchGroups("packagx age"));
+    }
+
+    @Test
+    void matchesSubstringsLikeContains() {
+        KeywordMatcher matcher = KeywordMatcher.compile(List.of(List.of("fit")));
+
+        assertEquals(1L, matcher.matchGroups("outfit"));
+        assertEquals(1L, matcher.matchGroups("profitable"));
+    }
+
+    @Test
+    void ignoresCaseIncludingNonAsciiLetters() {
+        KeywordMatcher matcher = KeywordMatcher.compile(List.of(
+                List.of("şarj"),
+                List.of("cámara"),
+                List.of("değer"),
+                List.of("Envío")));
+
+        assertEquals(0b0001, matcher.matchGroups("ŞARJ süresi kısa"));
+        assertEquals(0b0010, matcher.matchGroups("La CÁMARA es mediocre"));
+        assertEquals(0b0100, matcher.matchGroups("Fiyatına DEĞER"));
+        assertEquals(0b1000, matcher.matchGroups("el envío llegó"));
+    }
+
+    @Test
+    void foldsTurkishDottedAndDotlessILikeCharacterToLowerCase() {
+        KeywordMatcher matcher = KeywordMatcher.compile(List.of(
+                List.of("hız"),
+                List.of("iyi")));
+
+        assertEquals(0b01, matcher.matchGroups("hız"));
+        assertEquals(0b01, matcher.matchGroups("HıZ"));
+        // 'I' folds to 'i', not 'ı', as with contains() after toLowerCase(Locale.ROOT).
+        assertEquals(0L, matcher.matchGroups("HIZ"));
+        // 'İ' folds to plain 'i'.
+        assertEquals(0b10, matcher.matchGroups("İYİ"));
+        assertEquals(0b10, matcher.matchGroups("IYI"));
+    }
+
+    @Test
+    void doesNotDependOnTheDefaultLocale() {
+        KeywordMatcher matcher = KeywordMatcher.compile(List.of(List.of("price"), List.of("kargo")));
+        Locale previous = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+            assertEquals(0b11, matcher.matchGroups("PRICE AND KARGO"));
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+
+    @Test
+    void agreesWithLowerCaseContainsOnRandomText() {
+        List<List<String>> groups = List.of(
+                List.of("battery", "batarya", "pil", "şarj"),
+                List.of("speed", "fast", "hız", "rapido"),
+                List.of("cámara", "camera", "foto"),
+                List.of("price", "fiyat", "pahalı", "caro"),
+                List.of("a", "ab", "bab"));
+        KeywordMatcher matcher = KeywordMatcher.compile(groups);
+        String alphabet = "abcdefghilmoprstyzABCIPSŞşıÁáğĞ .,!";
+        Random random = new Random(7);
+
+        for (int n = 0; n < 5_000; n++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(40);
+            for (int i = 0; i < length; i++) {
+                if (random.nextInt(8) == 0) {
+                    List<String> group = groups.get(random.nextInt(groups.size()));
+                    text.append(group.get(random.nextInt(group.size())).toUpperCase(Locale.ROOT));
+                } else {
+                    text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+            }
+            String lower = text.toString().toLowerCase(Locale.ROOT);
+            long expected = 0L;
+            for (int g = 0; g < groups.size(); g++) {
+                for (String keyword : groups.get(g)) {
+                    if (lower.contains(keyword)) expected |= 1L << g;
+                }
+            }
+            assertEquals(expected, matcher.matchGroups(text), text::toString);
+        }
+    }
+
+    @Test
+    void rejectsMoreThan64Groups() {
+        List<List<String>> groups = Collections.nCopies(65, List.of("x"));
+        assertThrows(IllegalArgumentException.class, () -> KeywordMatcher.compile(groups));
+    }
+}
@@ -0,0 +1,203 @@
+package com.productreview.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedKeyValueStoreTest {
+
+    private static final int HEADER_BYTES = 64;
+    private static final int SLOT_BYTES = 16;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsAndOverwrites() throws IOException {
+        try (MappedKeyValueStore store = MappedKeyValueStore.open(dir.resolve("kv"), 64, 4096)) {
+            assertNull(store.get("missing", 0));
+            store.put("tr:hello", "merhaba", 1);
+            store.put("es:hello", "hola", 1);
+            assertEquals("merhaba", store.get("tr:hello", 0));
+            assertEquals("hola", store.get("es:hello", 0));
+
+            store.put("tr:hello", "selam dünya", 2);
+            assertEquals("selam dünya", store.get("tr:hello", 0));
+            assertEquals(2, store.entries());
+            assertTrue(store.logBytesUsed() > store.liveBytes(), "the overwritten record stays as garbage");
+        }
+    }
+
+    @Test
+    void treatsRecordsOlderThanTheCutoffAsMissing() throws IOException {
+        try (MappedKeyValueStore store = MappedKeyValueStore.open(dir.resolve("kv"), 64, 4096)) {
+            store.put("old", "a", 1_000);
+            store.put("new", "b", 5_000);
+            assertNull(store.get("old", 2_000));
+            assertEquals("b", store.get("new", 2_000));
+
+            store.compact(2_000);
+            assertNull(store.get("old", 0));
+            assertEquals("b", store.get("new", 0));
+            assertEquals(1, store.entries());
+        }
+    }
+
+    @Test
+    void compactionEvictsTheOldestRecordsFirst() throws IOException {
+        String value = "x".repeat(100);
+        int keys = 60;
+        try (MappedKeyValueStore store = MappedKeyValueStore.open(dir.resolve("kv"), 64, 4096)) {
+            for (int i = 0; i < keys; i++) {
+                assertTrue(store.put(String.format("k%02d", i), value, i));
+                if (store.needsCompaction()) store.compact(Long.MIN_VALUE);
+            }
+            assertNotNull(store.get("k59", 0));
+            assertNull(store.get("k00", 0));
+            boolean seen = false;
+            for (int i = 0; i < keys; i++) {
+                boolean present = store.get(String.format("k%02d", i), 0) != null;
+                assertTrue(present || !seen, "k" + i + " evicted while an older key survived");
+                seen |= present;
+            }
+            assertTrue(store.logBytesUsed() <= store.logCapacity());
+        }
+    }
+
+    @Test
+    void skipsPutsOnceFullInsteadOfCompacting() throws IOException {
+        String value = "x".repeat(100);
+        try (MappedKeyValueStore store = MappedKeyValueStore.open(dir.resolve("kv"), 64, 4096)) {
+            int stored = 0;
+            while (store.put("k" + stored, value, stored)) {
+                stored++;
+            }
+            assertTrue(store.needsCompaction());
+            assertEquals(stored, store.entries());
+            assertEquals(value, store.get("k0", 0), "nothing was evicted by the failed put");
+
+            store.compact(Long.MIN_VALUE);
+            assertFalse(store.needsCompaction());
+            assertTrue(store.put("after", value, stored));
+            assertEquals(value, store.get("after", 0));
+        }
+    }
+
+    @Test
+    void keepsServingReadsWhileCompacting() throws Exception {
+        try (MappedKeyValueStore store = MappedKeyValueStore.open(dir.resolve("kv"), 1024, 1 << 16)) {
+            for (int i = 0; i < 100; i++) store.put("k" + i, "v" + i, i);
+            AtomicBoolean done = new AtomicBoolean();
+            Thread compactor = new Thread(() -> {
+                try {
+                    for (int n = 0; n < 50; n++) store.compact(Long.MIN_VALUE);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } finally {
+                    done.set(true);
+                }
+            });
+            compactor.start();
+            while (!done.get()) {
+                for (int i = 0; i < 100; i++) assertEquals("v" + i, store.get("k" + i, 0));
+            }
+            compactor.join();
+            assertEquals(100, store.entries());
+        }
+    }
+
+    @Test
+    void keepsEntriesAcrossReopen() throws IOException {
+        Path file = dir.resolve("kv");
+        try (MappedKeyValueStore store = MappedKeyValueStore.open(file, 64, 4096)) {
+            store.put("a", "1", 1);
+            store.put("b", "2", 1);
+        }
+        try (MappedKeyValueStore store = MappedKeyValueStore.open(file, 64, 4096)) {
+            assertEquals("1", store.get("a", 0));
+            assertEquals("2", store.get("b", 0));
+            assertEquals(2, store.entries());
+        }
+    }
+
+    @Test
+    void migratesEntriesWhenReopenedWithAnotherGeometry() throws IOException {
+        Path file = dir.resolve("kv");
+        try (MappedKeyValueStore store = MappedKeyValueStore.open(file, 64, 4096)) {
+            for (int i = 0; i < 10; i++) store.put("k" + i, "v" + i, i);
+        }
+        try (MappedKeyValueStore store = MappedKeyValueStore.open(file, 256, 8192)) {
+            for (int i = 0; i < 10; i++) assertEquals("v" + i, store.get("k" + i, 0));
+            assertEquals(8192, store.logCapacity());
+        }
+        assertEquals(HEADER_BYTES + 256 * SLOT_BYTES + 8192, Files.size(file));
+    }
+
+    @Test
+    void refusesASecondOpenOfTheSameFile() throws IOException {
+        Path file = dir.resolve("kv");
+        try (MappedKeyValueStore ignored = MappedKeyValueStore.open(file, 64, 4096)) {
+            assertThrows(IOException.class, () -> MappedKeyValueStore.open(file, 64, 4096));
+        }
+        MappedKeyValueStore.open(file, 64, 4096).close();
+    }
+
+    @Test
+    void readsASlotPointingOutsideTheLogAsAMiss() throws IOException {
+        Path file = dir.resolve("kv");
+        try (MappedKeyValueStore store = MappedKeyValueStore.open(file, 64, 4096)) {
+            store.put("a", "1", 1);
+        }
+        // Point every used slot far past the write position, as a torn write could.
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer offset = ByteBuffer.allocate(8);
+            for (int slot = 0; slot < 64; slot++) {
+                long position = HEADER_BYTES + (long) slot * SLOT_BYTES + 8;
+                offset.clear();
+                channel.read(offset, position);
+                if (offset.getLong(0) == 0) continue;
+                offset.clear();
+                offset.putLong(0, 3_000L);
+                channel.write(offset, position);
+            }
+        }
+        try (MappedKeyValueStore store = MappedKeyValueStore.open(file, 64, 4096)) {
+            assertNull(store.get("a", 0));
+            store.put("a", "2", 2);
+            assertEquals("2", store.get("a", 0));
+            store.compact(Long.MIN_VALUE);
+            assertEquals(1, store.entries());
+            assertEquals("2", store.get("a", 0));
+        }
+    }
+
+    @Test
+    void replacesAFileWithAnInconsistentHeader() throws IOException {
+        Path file = dir.resolve("kv");
+        try (MappedKeyValueStore store = MappedKeyValueStore.open(file, 64, 4096)) {
+            store.put("a", "1", 1);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(8).putLong(0, 1L << 40), 16); // write position
+        }
+        try (MappedKeyValueStore store = MappedKeyValueStore.open(file, 64, 4096)) {
+            assertEquals(0, store.entries());
+            assertNull(store.get("a", 0));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.productreview.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MinHashDeduplicatorTest {
+
+    private final MinHashDeduplicator deduplicator = new MinHashDeduplicator(0.7);
+
+    @Test
+    void foldsIdenticalTextsIntoTheFirstOne() {
+        List<MinHashDeduplicator.Cluster<String>> clusters = deduplicator.cluster(List.of(
+                "Battery lasts two full days, very happy with it",
+                "Battery lasts two full days, very happy with it",
+                "Battery lasts two full days, very happy with it"), Function.identity());
+
+        assertEquals(1, clusters.size());
+        assertEquals("Battery lasts two full days, very happy with it", clusters.get(0).representative());
+        assertEquals(3, clusters.get(0).count());
+    }
+
+    @Test
+    void foldsTextsThatDifferOnlyInCasingAndPunctuation() {
+        List<MinHashDeduplicator.Cluster<String>> clusters = deduplicator.cluster(List.of(
+                "Great phone, the camera is excellent and the battery lasts all day.",
+                "great phone the camera is excellent and the battery lasts all day!!",
+                "GREAT PHONE - the camera is excellent, and the battery lasts all day"), Function.identity());
+
+        assertEquals(1, clusters.size());
+        assertEquals(3, clusters.get(0).count());
+    }
+
+    @Test
+    void foldsNearDuplicates() {
+        List<MinHashDeduplicator.Cluster<String>> clusters = deduplicator.cluster(List.of(
+                "The screen is bright and sharp, colours look great and the speakers are loud enough for movies",
+                "The screen is bright and sharp, colours look great and the speakers are loud enough for films"),
+                Function.identity());
+
+        assertEquals(1, clusters.size());
+        assertEquals(2, clusters.get(0).count());
+    }
+
+    @Test
+    void keepsDistinctTextsApartInInputOrder() {
+        List<String> texts = List.of(
+                "Battery drains overnight even when the phone is idle",
+                "Delivery was quick and the box was well packed",
+                "Camera struggles in low light, photos come out noisy");
+        List<MinHashDeduplicator.Cluster<String>> clusters = deduplicator.cluster(texts, Function.identity());
+
+        assertEquals(texts, clusters.stream().map(MinHashDeduplicator.Cluster::representative).toList());
+        clusters.forEach(cluster -> assertEquals(1, cluster.count()));
+    }
+
+    @Test
+    void handlesTextsShorterThanAShingleAndEmptyTexts() {
+        List<MinHashDeduplicator.Cluster<String>> clusters = deduplicator.cluster(
+                Arrays.asList("ok", "OK!", "bad", "", null, "   "), Function.identity());
+
+        assertEquals(List.of("ok", "bad", ""), clusters.stream().map(MinHashDeduplicator.Cluster::representative).toList());
+        assertEquals(List.of(2, 1, 3), clusters.stream().map(MinHashDeduplicator.Cluster::count).toList());
+    }
+
+    @Test
+    void neverFoldsItemsOfDifferentGroups() {
+        record Review(String comment, int bucket) {
+        }
+        List<MinHashDeduplicator.Cluster<Review>> clusters = deduplicator.cluster(List.of(
+                new Review("Battery lasts two full days, very happy with it", 3),
+                new Review("Battery lasts two full days, very happy with it", 1),
+                new Review("Battery lasts two full days, very happy with it", 3)), Review::comment, Review::bucket);
+
+        assertEquals(2, clusters.size());
+        assertEquals(2, clusters.get(0).count());
+        assertEquals(3, clusters.get(0).representative().bucket());
+        assertEquals(1, clusters.get(1).count());
+    }
+
+    @Test
+    void returnsNothingForNoItems() {
+        assertEquals(List.of(), deduplicator.cluster(List.<String>of(), Function.identity()));
+    }
+
+    @Test
+    void rejectsThresholdsOutsideTheUnitInterval() {
+        assertThrows(IllegalArgumentException.class, () -> new MinHashDeduplicator(0));
+        assertThrows(IllegalArgumentException.class, () -> new MinHashDeduplicator(1.5));
+    }
+}